@@ -1,29 +1,63 @@
 import objects.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 public class Main {
     private static Scanner scanner = new Scanner(System.in); /* for Retrieving Data From User we're using scanner */
     private static List<Person> users = new ArrayList<>(); // person List
-    private static Person currentUser = null; // there is no assigned person in start with type Person (from Person Class)
-    private static List<Department> departments = new ArrayList<>();
-    private static List<Inventory> inventoryList = new ArrayList<>();
-    private static List<Room> rooms = new ArrayList<>();
+    private static CredentialStore credentials = new CredentialStore(); // username -> user, hashed passwords
+    private static LoginRateLimiter loginLimiter = new LoginRateLimiter(credentials); // per username and per source
+    private static final String LOGIN_SOURCE = "console"; // where logins come from, one terminal here
+    private static SessionManager sessions = new SessionManager(); // token -> session, idle sessions expire
+    private static String sessionToken = null; // this terminal's session, opaque
+    private static Person currentUser = null; // user of the session above, null when nobody is logged in
+    private static DepartmentIndex departments; // the founder's, departments by name and doctor
+    private static HospitalExporter exporter; // analytics dumps
+    private static EventBus events = EventBus.getDefault();
+    private static AuditLog auditLog; // who saw or changed medical records and prescriptions
+    private static ReminderScheduler reminders; // appointment reminders, 24 hours and 1 hour ahead
+    private static DepartmentLoadBalancer loadBalancer; // picks the least busy doctor of a department
+    private static WaitlistManager waitlists = new WaitlistManager(); // cancelled slots go to the next patient waiting
+    private static DoctorLeaderboard leaderboard = new DoctorLeaderboard();
+    private static ReviewValidator reviewValidator = new ReviewValidator(); // completed visit, one review each, no copies
+    private static InventoryNetwork inventory = new InventoryNetwork(); // one shard per location
+    private static LowStockMonitor lowStockMonitor = new LowStockMonitor();
+    private static ReorderPlanner reorderPlanner = new ReorderPlanner();
+    private static ExpirySweeper expirySweeper = new ExpirySweeper();
+    private static RoomScheduler roomScheduler = new RoomScheduler(); // rooms by name and type
+    private static RoomBillingJob roomBillingJob = new RoomBillingJob(roomScheduler);
+    private static OperatingRoomScheduler operatingRoomScheduler = new OperatingRoomScheduler(roomScheduler, new EquipmentTags());
+    private static List<Procedure> pendingProcedures = new ArrayList<>(); // requested, not in a room yet
 
     public static void main(String[] args) {
             // creating sample data (initial data) for our program-demo.
             // create departments
             Department cardiology = new Department("Cardiology", null, "Block A");
             Department neurology = new Department("Neurology", null, "Block B");
-            departments.add(cardiology); // we should add initial departments to the departments list (list created in this class)
-            departments.add(neurology);
         
             // create founder
             Founder founder = new Founder("F001", "Burak Sahin", "Kucuk", 40, 'M', "5319870221",
                     "founder", "founder", 150000.0);
+            departments = founder.getDepartmentIndex();
+            exporter = new HospitalExporter(credentials, founder);
+            String exportDir = System.getProperty(HospitalExporter.DIRECTORY_PROPERTY);
+            if (exportDir != null) {
+                exporter.start(Path.of(exportDir), ExportFormat.CSV); // nightly dump for analytics
+            }
+            departments.addDepartment(cardiology); // we should add initial departments to the founder's department index
+            departments.addDepartment(neurology);
     
             // create doctors
             Doctor cardiologist = new Doctor("D101", "Aysegul", "Özkaya Eren", 30, 'F', "5245287101",
@@ -53,27 +87,63 @@ public class Main {
             // assign doctors to departments
             cardiology.setHead(cardiologist); // With using Department.java function
             neurology.setHead(neurologist);
+            loadBalancer = new DepartmentLoadBalancer(departments); // follows hires and bookings from now on
         
             // adding all initialized users to the user class.
-            users.add(founder);
-            users.add(cardiologist);
-            users.add(neurologist);
-            users.add(patient);
-            users.add(pharmacist);
-            users.add(assistant);
+            addUser(founder);
+            addUser(cardiologist);
+            addUser(neurologist);
+            addUser(patient);
+            addUser(pharmacist);
+            addUser(assistant);
+            leaderboard.track(cardiologist);
+            leaderboard.track(neurologist);
+            reviewValidator.track(cardiologist);
+            reviewValidator.track(neurologist);
         
-            // sample inventory items with using Inventory.java constructor.
-            inventoryList.add(new Inventory("I001", "Iburamin", "Medication", 100, 10, 1.5, "SahinCo", "Main Pharmacy"));
-            inventoryList.add(new Inventory("I002", "Bandage", "Medical Supplies", 50, 5, 0.5, "BurakCo", "Storage"));
-            inventoryList.add(new Inventory("I003", "Parol Plus", "Medication", 80, 10, 2.0, "SahinCo", "Main Pharmacy"));
+            // every item is watched by the low stock monitor, it tells us the moment an item needs reordering
+            lowStockMonitor.addLowStockListener((item, headroom) ->
+                    System.out.println("\n[Reorder Alert] " + item.getItemName() + " (" + item.getItemId() + ") at " +
+                            item.getLocation() + " is at " + item.getQuantity() + ", minimum is " +
+                            item.getMinimumQuantity() + ". Supplier: " + item.getSupplier()));
+            inventory.onItemAdded(lowStockMonitor::track); // also items created later by transfers
+            inventory.onItemAdded(expirySweeper::watch);
+            expirySweeper.start(discarded -> {
+                System.out.println("\n[Expiry Sweep] Removed expired lots:");
+                for (LotAllocation lot : discarded) {
+                    System.out.println("- " + lot.GeneralInfo() + " at " + lot.getLot().getItem().getLocation());
+                }
+            });
+
+            // sample inventory items with using Inventory.java constructor, they go to the shard of their location.
+            inventory.addItem(new Inventory("I001", "Iburamin", "Medication", 100, 10, 1.5, "SahinCo", "Main Pharmacy"));
+            inventory.addItem(new Inventory("I002", "Bandage", "Medical Supplies", 50, 5, 0.5, "BurakCo", "Storage"));
+            inventory.addItem(new Inventory("I003", "Parol Plus", "Medication", 80, 10, 2.0, "SahinCo", "Main Pharmacy"));
         
             // add some sample rooms with using Room.java constructor
-            rooms.add(new Room("201", "Radiology - 1", 2, 50.0, "Radiolog, Radiology Stuff"));
-            rooms.add(new Room("202", "Radiology Pro Plus", 2, 50.0, "Radiolog, Radiology Stuff, Much more radio"));
-            rooms.add(new Room("101", "Blood", 1, 200.0, "Nurse, Monitor, Blood"));
-            rooms.add(new Room("301", "Operating Room - 1", 1, 200.0, "Ventilator, Monitor, Other Equipments"));
-            rooms.add(new Room("302", "Operating Room - 2", 1, 500.0, "Though this room is empty, it is still a valid room"));
-            rooms.add(new Room("303", "Emergency Room - 1", 4, 300.0, "Stretcher, Equipments"));
+            roomScheduler.addRoom(new Room("201", "Radiology - 1", 2, 50.0, "Radiolog, Radiology Stuff"));
+            roomScheduler.addRoom(new Room("202", "Radiology Pro Plus", 2, 50.0, "Radiolog, Radiology Stuff, Much more radio"));
+            roomScheduler.addRoom(new Room("101", "Blood", 1, 200.0, "Nurse, Monitor, Blood"));
+            roomScheduler.addRoom(new Room("301", "Operating Room - 1", 1, 200.0, "Ventilator, Monitor, Other Equipments"));
+            roomScheduler.addRoom(new Room("302", "Operating Room - 2", 1, 500.0, "Though this room is empty, it is still a valid room"));
+            roomScheduler.addRoom(new Room("303", "Emergency Room - 1", 4, 300.0, "Stretcher, Equipments"));
+            roomBillingJob.start(60); // charges every occupied bed once an hour
+            waitlists.attach(events);
+            sessions.start(5); // drops expired sessions nobody logged out of
+            try {
+                auditLog = new AuditLog(Path.of(System.getProperty(AuditLog.FILE_PROPERTY, AuditLog.DEFAULT_FILE)));
+                auditLog.attach(events);
+            } catch (IOException e) {
+                System.out.println("Audit log unavailable: " + e.getMessage());
+            }
+            try {
+                reminders = new ReminderScheduler(Path.of(System.getProperty(ReminderScheduler.JOURNAL_PROPERTY,
+                        ReminderScheduler.DEFAULT_JOURNAL)), reminderSink());
+                reminders.attach(events);
+                reminders.start();
+            } catch (IOException e) {
+                System.out.println("Appointment reminders unavailable: " + e.getMessage());
+            }
 
 
         // start the application with while loop until exist working it'll return same thing.
@@ -112,6 +182,20 @@ public class Main {
                     break;
                 case "3":
                     System.out.println("\nThank you for using Hospital Management System. Goodbye!");
+                    if (reminders != null) {
+                        try {
+                            reminders.close();
+                        } catch (IOException e) {
+                            System.out.println("Reminder journal could not be closed: " + e.getMessage());
+                        }
+                    }
+                    if (auditLog != null) {
+                        try {
+                            auditLog.close(); // commit the last batch
+                        } catch (IOException e) {
+                            System.out.println("Audit log could not be closed: " + e.getMessage());
+                        }
+                    }
                     System.exit(0);
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -143,6 +227,10 @@ public class Main {
 
         System.out.print("Username: ");
         String username = scanner.nextLine();
+        if (credentials.findByUsername(username) != null) {
+            System.out.println("This username is already taken.");
+            return;
+        }
 
         System.out.print("Password: ");
         String password = scanner.nextLine();
@@ -172,7 +260,9 @@ public class Main {
                 );
 
         // for system runtime data we should add this to the our users list. we're not using database.
-        users.add(newPatient);
+        if (!addUser(newPatient)) {
+            return;
+        }
 
         System.out.println("\nRegistration successful! Welcome to the your new health journey!");
     }
@@ -188,46 +278,124 @@ public class Main {
         System.out.print("Password: ");
         String password = scanner.nextLine();
 
-        for (Person user : users) {
-            if (user.authenticate(username, password)) {
-                currentUser = user;
-                System.out.println("\nWelcome, " + user.getFullName() + "!");
-                return;
-            }
+        if (!loginLimiter.allowAttempt(username, LOGIN_SOURCE)) { // before the slow password hash
+            long seconds = (loginLimiter.getRetryAfterMillis(username, LOGIN_SOURCE) + 999) / 1000;
+            System.out.println("\nToo many login attempts. Please try again in " + seconds + " seconds.");
+            return;
+        }
+        Person user = credentials.authenticate(username, password); // one hash lookup, not a walk over every user
+        if (user != null) {
+            Session session = sessions.open(user);
+            sessionToken = session.getToken();
+            currentUser = session.getUser();
+            System.out.println("\nWelcome, " + user.getFullName() + "!");
+            return;
         }
+        loginLimiter.recordFailure(username);
         System.out.println("\nInvalid username or password. Please try again.");
     }
 
+    // same as addUser for imports, a taken username fails the row instead of printing
+    private static void importUser(Person user) {
+        if (!credentials.register(user)) {
+            throw new IllegalArgumentException("Username " + user.getUsername() + " is already taken.");
+        }
+        users.add(user);
+    }
+
+    // every user must go through here, login only finds users known to the credential store
+    private static boolean addUser(Person user) {
+        if (!credentials.register(user)) {
+            System.out.println("Username " + user.getUsername() + " is already taken.");
+            return false;
+        }
+        users.add(user);
+        return true;
+    }
+
     
-    // role chooser function from people's inherited classes.
+    // role chooser, the role was worked out once when the session was opened
     private static void showRoleSpecificMenu() {
-        if (currentUser instanceof Founder) {
-            showFounderMenu();
-
-        } else if (currentUser instanceof Doctor) {
-            Doctor doctor = (Doctor) currentUser;
-            if (doctor.isPrivateDoctor()) {
-                showPrivateDoctorMenu();
-            } else {
+        Session session = sessions.get(sessionToken);
+        if (session == null) {
+            expireSession();
+            return;
+        }
+        switch (session.getRole()) {
+            case FOUNDER:
+                showFounderMenu();
+                break;
+            case DOCTOR:
                 showDoctorMenu();
-            }
+                break;
+            case PRIVATE_DOCTOR:
+                showPrivateDoctorMenu();
+                break;
+            case PATIENT:
+                showPatientMenu();
+                break;
+            case PHARMACIST:
+                showPharmacistMenu();
+                break;
+            case ASSISTANT:
+                showAssistantMenu();
+                break;
+        }
+    }
 
-        } 
-        else if (currentUser instanceof Patient) {
-            showPatientMenu();
-        } 
-        else if (currentUser instanceof Pharmacist) {
-            
-            showPharmacistMenu();
-        } 
-        else if (currentUser instanceof Assistant) {
-            showAssistantMenu();
+    // single bit test against the session's role, also notices a session that has expired
+    private static boolean can(Permission permission) {
+        Session session = sessions.get(sessionToken);
+        if (session == null) {
+            expireSession();
+            return false;
         }
+        return session.can(permission);
+    }
+
+    // menus call this before every choice, false sends the user back to the welcome menu
+    private static boolean sessionActive() {
+        if (sessions.get(sessionToken) == null) {
+            expireSession();
+            return false;
+        }
+        return true;
+    }
+
+    private static void expireSession() {
+        if (currentUser != null) {
+            System.out.println("\nYour session has expired. Please login again.");
+        }
+        sessionToken = null;
+        currentUser = null;
+    }
+
+    private static void logout() {
+        sessions.close(sessionToken);
+        sessionToken = null;
+        currentUser = null;
+    }
+
+    // publishing is all the caller pays, the audit log writes on its own thread
+    private static void audit(EventType type, Object payload, String detail) {
+        events.publish(type, payload, currentUser, 0.0, detail);
+    }
+
+    // reminders go to the outbox file when hospital.reminders.outbox is set, to the console otherwise
+    private static ReminderSink reminderSink() throws IOException {
+        String outbox = System.getProperty("hospital.reminders.outbox");
+        if (outbox != null) {
+            return new FileReminderSink(Path.of(outbox));
+        }
+        return reminder -> System.out.println("\n[Reminder to " + reminder.getPatientId() + "] " + reminder.getMessage());
     }
 
     // founder menu
     private static void showFounderMenu() {
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n#################################");
             System.out.println("####### Founder Dashboard #######");
             System.out.println("##  1. View Profile            ##");
@@ -241,7 +409,11 @@ public class Main {
             System.out.println("##  9. Generate Monthly Report ##");
             System.out.println("##  10. Create Room            ##");
             System.out.println("##  11. View All Rooms         ##");
-            System.out.println("##  12. Logout                 ##");
+            System.out.println("##  12. Bed Dashboard          ##");
+            System.out.println("##  13. Plan Operating Rooms   ##");
+            System.out.println("##  14. Bulk Import            ##");
+            System.out.println("##  15. Export Data            ##");
+            System.out.println("##  16. Logout                 ##");
             System.out.println("#################################");
             System.out.print("Select an option: ");
 
@@ -281,7 +453,19 @@ public class Main {
                     viewAllRooms();
                     break;
                 case "12":
-                    currentUser = null;
+                    showBedDashboard();
+                    break;
+                case "13":
+                    planOperatingRooms();
+                    break;
+                case "14":
+                    bulkImport();
+                    break;
+                case "15":
+                    exportData();
+                    break;
+                case "16":
+                    logout();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -294,6 +478,9 @@ public class Main {
     // doctor menu
     private static void showDoctorMenu() {
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n########################################");
             System.out.println("########## Doctor Dashboard ############");
             System.out.println("##  1. View Profile                   ##");
@@ -306,7 +493,10 @@ public class Main {
             System.out.println("##  8. Update Patient Medical Record  ##");
             System.out.println("##  9. Assign Patient to Room         ##");
             System.out.println("##  10. View Available Rooms          ##");
-            System.out.println("##  11. Logout                        ##");
+            System.out.println("##  11. Reserve Room                  ##");
+            System.out.println("##  12. Discharge Patient             ##");
+            System.out.println("##  13. Request Surgery               ##");
+            System.out.println("##  14. Logout                        ##");
             System.out.println("########################################");
             System.out.print("Select an option: ");
 
@@ -343,7 +533,16 @@ public class Main {
                     viewAvailableRooms();
                     break;
                 case "11":
-                    currentUser = null; // return the main while loop.
+                    reserveRoom();
+                    break;
+                case "12":
+                    dischargePatient();
+                    break;
+                case "13":
+                    requestSurgery();
+                    break;
+                case "14":
+                    logout(); // return the main while loop.
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -356,6 +555,9 @@ public class Main {
 
     private static void showPatientMenu() {
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n########################################");
             System.out.println("########### Patient Dashboard ##########");
             System.out.println("##  1. View Profile                   ##");
@@ -366,7 +568,9 @@ public class Main {
             System.out.println("##  6. Write Review                   ##");
             System.out.println("##  7. See Reviews                    ##");
             System.out.println("##  8. Billing                        ##");
-            System.out.println("##  9. Logout                         ##");
+            System.out.println("##  9. Top Doctors                    ##");
+            System.out.println("##  10. Waitlist                      ##");
+            System.out.println("##  11. Logout                        ##");
             System.out.println("########################################");
             System.out.print("Select an option: ");
 
@@ -397,7 +601,13 @@ public class Main {
                     showBilling();
                     break;
                 case "9":
-                    currentUser = null;
+                    showTopDoctors();
+                    break;
+                case "10":
+                    manageWaitlist();
+                    break;
+                case "11":
+                    logout();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -410,15 +620,21 @@ public class Main {
     // pharmacist menu
     private static void showPharmacistMenu() {
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n###########################################");
             System.out.println("########### Pharmacist Dashboard ##########");
             System.out.println("##  1. View Profile                      ##");
             System.out.println("##  2. View Inventory                    ##");
             System.out.println("##  3. Add Inventory Stock               ##");
             System.out.println("##  4. Remove Inventory Stock            ##");
-            System.out.println("##  5. Check Medication Stock            ##");
-            System.out.println("##  6. View Prescriptions                ##");
-            System.out.println("##  7. Logout                            ##");
+            System.out.println("##  5. Transfer Stock                    ##");
+            System.out.println("##  6. Check Medication Stock            ##");
+            System.out.println("##  7. View Low Stock Items              ##");
+            System.out.println("##  8. Reorder Plan                      ##");
+            System.out.println("##  9. View Prescriptions                ##");
+            System.out.println("##  10. Logout                           ##");
             System.out.println("###########################################");
             System.out.print("Select an option: ");
 
@@ -439,13 +655,22 @@ public class Main {
                     removeInventoryStock();
                     break;
                 case "5":
-                    checkMedicationStock();
+                    transferInventoryStock();
                     break;
                 case "6":
-                    viewPrescriptionsPharmacist(pharmacist);
+                    checkMedicationStock();
                     break;
                 case "7":
-                    currentUser = null;
+                    viewLowStockItems();
+                    break;
+                case "8":
+                    viewReorderPlan();
+                    break;
+                case "9":
+                    viewPrescriptionsPharmacist(pharmacist);
+                    break;
+                case "10":
+                    logout();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -457,63 +682,118 @@ public class Main {
     // inventory viewing
     private static void viewInventory() {
         System.out.println("\n### Inventory List ###");
-        if (inventoryList == null || inventoryList.isEmpty()) {
+        if (inventory.isEmpty()) {
             System.out.println("There are no items in the inventory.");
             return;
         }
-        for (Inventory item : inventoryList) {
-            System.out.println(item.GeneralInfo());
+        for (String location : inventory.getLocations()) {
+            System.out.println("\n-- " + location + " --");
+            for (Inventory item : inventory.getShard(location).getItems()) {
+                System.out.println(item.GeneralInfo());
+                for (StockLot lot : item.getLots()) {
+                    System.out.println("    " + lot.GeneralInfo());
+                }
+            }
+        }
+    }
+
+    // same item id can be in more than one location, then we ask which one
+    private static Inventory selectInventoryItem(String itemId) {
+        List<Inventory> matches = inventory.findItems(itemId);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
         }
+        System.out.print("Item is in several locations, enter location: ");
+        return inventory.getItem(scanner.nextLine(), itemId);
     }
 
     private static void addInventoryStock() {
-        System.out.println("\n### Add Inventory Stock ###");
-        viewInventory();
-        System.out.print("Enter Item ID to add stock: ");
-        String itemId = scanner.nextLine();
-
-        //---
-        Inventory selected = null;
-        for (Inventory item : inventoryList) {
-            if (item.getItemId().equals(itemId)) {
-                selected = item;
-                break;
+        if (can(Permission.MANAGE_INVENTORY)) {
+            System.out.println("\n### Add Inventory Stock ###");
+            viewInventory();
+            System.out.print("Enter Item ID to add stock: ");
+            String itemId = scanner.nextLine();
+
+            //---
+            Inventory selected = selectInventoryItem(itemId);
+            if (selected == null) {
+                System.out.println("Item not found.");
+                return;
             }
+            System.out.print("Enter amount to add: ");
+            int amount = Integer.parseInt(scanner.nextLine());
+            System.out.print("Lot ID (leave empty if the delivery has no lot): ");
+            String lotId = scanner.nextLine();
+
+            StockResult result;
+            if (lotId.isEmpty()) {
+                result = inventory.getShard(selected.getLocation()).addStock(itemId, amount);
+            } else {
+                System.out.print("Expiry date (yyyy-MM-dd): ");
+                LocalDate expiryDate;
+                try {
+                    expiryDate = LocalDate.parse(scanner.nextLine());
+                } catch (DateTimeParseException e) {
+                    System.out.println("Invalid date, expected yyyy-MM-dd.");
+                    return;
+                }
+                result = inventory.getShard(selected.getLocation()).receiveLot(itemId, lotId, expiryDate, amount);
+            }
+            System.out.println(result.getMessage());
+            //---
         }
-        if (selected == null) {
-            System.out.println("Item not found.");
-            return;
-        }
-        System.out.print("Enter amount to add: ");
-        int amount = Integer.parseInt(scanner.nextLine());
-        selected.addStock(amount);
-        System.out.println("Stock added. New quantity: " + selected.getQuantity());
-        //---
     }
 
     private static void removeInventoryStock() {
-        System.out.println("\n### Remove Inventory Stock ###");
-        viewInventory();
-        System.out.print("Enter Item ID to remove stock: ");
-        String itemId = scanner.nextLine();
-
-        //---
-        Inventory selected = null;
-        for (Inventory item : inventoryList) {
-            if (item.getItemId().equals(itemId)) {
-                selected = item;
-                break;
+        if (can(Permission.MANAGE_INVENTORY)) {
+            System.out.println("\n### Remove Inventory Stock ###");
+            viewInventory();
+            System.out.print("Enter Item ID to remove stock: ");
+            String itemId = scanner.nextLine();
+
+            //---
+            Inventory selected = selectInventoryItem(itemId);
+            if (selected == null) {
+                System.out.println("Item not found.");
+                return;
+            }
+            System.out.print("Enter amount to remove: ");
+            int amount = Integer.parseInt(scanner.nextLine());
+            StockResult result = inventory.getShard(selected.getLocation()).removeStock(itemId, amount);
+            System.out.println(result.getMessage());
+            for (LotAllocation picked : result.getAllocations()) { // first expiring first
+                System.out.println("  Take from " + picked.GeneralInfo());
             }
+            //---
         }
-        if (selected == null) {
-            System.out.println("Item not found.");
-            return;
+    }
+
+    private static void transferInventoryStock() {
+        if (can(Permission.MANAGE_INVENTORY)) {
+            System.out.println("\n### Transfer Stock Between Locations ###");
+            viewInventory();
+            System.out.print("Enter Item ID to transfer: ");
+            String itemId = scanner.nextLine();
+            System.out.print("From location: ");
+            String from = scanner.nextLine();
+            System.out.print("To location: ");
+            String to = scanner.nextLine();
+            System.out.print("Amount: ");
+            int amount = Integer.parseInt(scanner.nextLine());
+
+            try {
+                StockResult result = inventory.transfer(itemId, from, to, amount);
+                System.out.println(result.getMessage());
+                if (result.isSuccess()) {
+                    System.out.println("Moved " + amount + " to " + to + ". Total in all locations: " + inventory.getTotalQuantity(itemId));
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
         }
-        System.out.print("Enter amount to remove: ");
-        int amount = Integer.parseInt(scanner.nextLine());
-        selected.removeStock(amount);
-        System.out.println("Stock removed. New quantity: " + selected.getQuantity());
-        //---
     }
 
     private static void checkMedicationStock() {
@@ -522,9 +802,10 @@ public class Main {
         String medName = scanner.nextLine();
 
         boolean found = false;
-        for (Inventory item : inventoryList) {
+        for (Inventory item : inventory.getAllItems()) {
             if (item.getItemName().equals(medName)) {
-                System.out.println(item.getItemName() + " in stock: " + item.getQuantity());
+                System.out.println(item.getItemName() + " in stock at " + item.getLocation() + ": " + item.getQuantity() +
+                        " (all locations: " + inventory.getTotalQuantity(item.getItemId()) + ")");
                 found = true;
             }
         }
@@ -533,6 +814,42 @@ public class Main {
         }
     }
 
+    private static void viewLowStockItems() {
+        System.out.println("\n### Low Stock Items ###");
+        List<Inventory> lowItems = lowStockMonitor.getLowStockItems();
+        if (lowItems.isEmpty()) {
+            System.out.println("No item is below its minimum quantity.");
+        } else {
+            for (Inventory item : lowItems) {
+                System.out.println(item.GeneralInfo() + ", Minimum: " + item.getMinimumQuantity());
+            }
+        }
+
+        System.out.println("\nMost at risk:");
+        for (Inventory item : lowStockMonitor.getMostAtRisk(5)) {
+            System.out.println("- " + item.getItemName() + " | Quantity: " + item.getQuantity() +
+                    " | Minimum: " + item.getMinimumQuantity());
+        }
+    }
+
+    private static void viewReorderPlan() {
+        System.out.println("\n### Reorder Plan ###");
+        Map<String, List<ReorderLine>> plan = reorderPlanner.planBySupplier(inventory.getAllItems(), LocalDate.now());
+        if (plan.isEmpty()) {
+            System.out.println("Nothing needs to be ordered right now.");
+            return;
+        }
+        for (Map.Entry<String, List<ReorderLine>> entry : plan.entrySet()) {
+            System.out.println("\nSupplier: " + entry.getKey());
+            double total = 0.0;
+            for (ReorderLine line : entry.getValue()) {
+                System.out.println("- " + line.GeneralInfo());
+                total += line.getEstimatedCost();
+            }
+            System.out.println("Order Total: $" + String.format("%.2f", total));
+        }
+    }
+
     // pprescription
     private static void viewPrescriptionsPharmacist(Pharmacist pharmacist) {
         System.out.println("\n### Prescriptions ###");
@@ -540,6 +857,7 @@ public class Main {
             System.out.println("No prescriptions found.");
         } else {
             for (Prescription prescription : pharmacist.getPrescriptions()) {
+                audit(EventType.PRESCRIPTION_VIEWED, prescription, null);
                 System.out.println(prescription.GeneralInfo());
             }
         }
@@ -549,11 +867,15 @@ public class Main {
     private static void showAssistantMenu() {
         Assistant assistant = (Assistant) currentUser;
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n###########################################");
             System.out.println("########## Assistant Dashboard ############");
             System.out.println("##  1. View Profile                      ##");
             System.out.println("##  2. Call Doctor                       ##");
-            System.out.println("##  3. Logout                            ##");
+            System.out.println("##  3. Bed Dashboard                     ##");
+            System.out.println("##  4. Logout                            ##");
             System.out.println("###########################################");
             System.out.print("Select an option: ");
             String choice = scanner.nextLine();
@@ -565,7 +887,10 @@ public class Main {
                     callDoctorByAssistant(assistant);
                     break;
                 case "3":
-                    currentUser = null;
+                    showBedDashboard();
+                    break;
+                case "4":
+                    logout();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -601,31 +926,84 @@ public class Main {
 
     
     private static void showProfile() {
-        System.out.println("\n### Profile ###");
-        System.out.println("Name: " + currentUser.getFullName());
-        System.out.println("Age: " + currentUser.getAge());
-        System.out.println("Gender: " + currentUser.getGender());
-        System.out.println("Phone: " + currentUser.getPhoneNumber());
+        if (can(Permission.VIEW_PROFILE)) {
+            System.out.println("\n### Profile ###");
+            System.out.println("Name: " + currentUser.getFullName());
+            System.out.println("Age: " + currentUser.getAge());
+            System.out.println("Gender: " + currentUser.getGender());
+            System.out.println("Phone: " + currentUser.getPhoneNumber());
+
+            if (currentUser instanceof Doctor) {
+                Doctor doctor = (Doctor) currentUser;
+                System.out.println("Department: " + doctor.getDepartment());
+                System.out.println("Specialty: " + doctor.getSpecialty());
+                System.out.println("Office: " + doctor.getOfficeNumber());
+
+            } else if (currentUser instanceof Patient) {
+                Patient patient = (Patient) currentUser;
+                System.out.println("Insurance: " + (patient.hasInsurance() ? "Yes" : "No"));
+                if (patient.hasInsurance()) {
+                    System.out.println("Provider: " + patient.getInsuranceProvider());
+                }
+            }
+        }
+    }
 
-        if (currentUser instanceof Doctor) {
-            Doctor doctor = (Doctor) currentUser;
-            System.out.println("Department: " + doctor.getDepartment());
-            System.out.println("Specialty: " + doctor.getSpecialty());
-            System.out.println("Office: " + doctor.getOfficeNumber());
+    private static void createDepartmentAppointment() {
+        System.out.println("\nDepartments:");
+        for (Department dept : departments.getDepartments()) {
+            System.out.println(dept.getName());
+        }
+        System.out.print("Department Name: ");
+        Department department = departments.findByName(scanner.nextLine());
+        if (department == null) {
+            System.out.println("Invalid department selection.");
+            return;
+        }
+        System.out.print("Specialty (leave empty for any): ");
+        String specialty = scanner.nextLine();
+
+        System.out.println("\nAvailable Days:");
+        System.out.println("1. Monday");
+        System.out.println("2. Tuesday");
+        System.out.println("3. Wednesday");
+        System.out.println("4. Thursday");
+        System.out.println("5. Friday");
+        System.out.print("\nSelect Day (1-5): ");
+        int dayChoice;
+        try {
+            dayChoice = Integer.parseInt(scanner.nextLine());
+        } catch (NumberFormatException e) {
+            dayChoice = 0;
+        }
+        if (dayChoice < 1 || dayChoice > 5) {
+            System.out.println("Invalid day selection.");
+            return;
+        }
+        StaticSchedule.Day selectedDay = StaticSchedule.Day.values()[dayChoice - 1];
 
-        } else if (currentUser instanceof Patient) {
-            Patient patient = (Patient) currentUser;
-            System.out.println("Insurance: " + (patient.hasInsurance() ? "Yes" : "No"));
-            if (patient.hasInsurance()) {
-                System.out.println("Provider: " + patient.getInsuranceProvider());
-            }
+        Appointment appointment = loadBalancer.assign(department, (Patient) currentUser, selectedDay, specialty);
+        if (appointment == null) {
+            System.out.println("Every doctor of this department is fully booked on that day.");
+            return;
         }
+        System.out.println("\nAppointment created successfully!");
+        System.out.println("Appointment ID: " + appointment.getAppointmentId());
+        System.out.println("Doctor: " + appointment.getDoctor().getFullName() + " (" + appointment.getDoctor().getSpecialty() + ")");
+        System.out.println("Date: " + appointment.getDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+        System.out.println("Cost: $" + appointment.getCost());
     }
 
     private static void createAppointment() {
-        if (currentUser instanceof Patient) {
+        if (can(Permission.BOOK_APPOINTMENT)) {
             System.out.println("\n### Create Appointment ###");
 
+            System.out.print("Let the hospital pick the least busy doctor of a department? (y/n): ");
+            if (scanner.nextLine().equalsIgnoreCase("y")) {
+                createDepartmentAppointment();
+                return;
+            }
+
             // available doctors
             System.out.println("\nAvailable Doctors:");
             for (Person user : users) {
@@ -715,14 +1093,113 @@ public class Main {
                     System.out.println("Location: " + selectedDoctor.getOfficeNumber()); // For private doctors, this is their office address
                 }
             } else {
-                System.out.println("Failed to create appointment.");
+                System.out.println("That slot was just taken, please pick another one.");
             }
         }
     }
 
+    private static void manageWaitlist() {
+        if (can(Permission.BOOK_APPOINTMENT)) {
+            Patient patient = (Patient) currentUser;
+            System.out.println("\n### Waitlist ###");
+            List<WaitlistEntry> entries = waitlists.getEntries(patient);
+            for (int i = 0; i < entries.size(); i++) {
+                WaitlistEntry entry = entries.get(i);
+                System.out.println((i + 1) + ". Waiting for Dr. " + entry.getDoctor().getFullName() + " ("
+                        + (entry.getDay() == null ? "any day" : entry.getDay()) + "), position "
+                        + waitlists.getWaitlist(entry.getDoctor()).getPosition(entry));
+            }
+            System.out.println("\n1. Join a Waitlist");
+            System.out.println("2. Leave a Waitlist");
+            System.out.println("3. Back");
+            System.out.print("Select an option: ");
+            switch (scanner.nextLine()) {
+                case "1":
+                    joinWaitlist(patient);
+                    break;
+                case "2":
+                    leaveWaitlist(patient, entries);
+                    break;
+                case "3":
+                    return;
+                default:
+                    System.out.println("Invalid option.");
+                    break;
+            }
+        }
+    }
+
+    private static void leaveWaitlist(Patient patient, List<WaitlistEntry> entries) {
+        if (entries.isEmpty()) {
+            System.out.println("You are not on any waitlist.");
+            return;
+        }
+        System.out.print("Waitlist to leave (1-" + entries.size() + "): ");
+        int choice = Integer.parseInt(scanner.nextLine());
+        if (choice < 1 || choice > entries.size()) {
+            System.out.println("Invalid selection.");
+            return;
+        }
+        Doctor doctor = entries.get(choice - 1).getDoctor();
+        if (waitlists.leave(patient, doctor)) {
+            System.out.println("You left the waitlist of Dr. " + doctor.getFullName() + ".");
+        } else {
+            System.out.println("You could not leave, you may have just been booked. Please check your appointments.");
+        }
+    }
+
+    private static void joinWaitlist(Patient patient) {
+        System.out.println("\nDoctors:");
+        for (Person user : users) {
+            if (user instanceof Doctor) {
+                Doctor doc = (Doctor) user;
+                System.out.println(doc.getId() + ": " + doc.getFullName() + " (" + doc.getSpecialty() + ")");
+            }
+        }
+        System.out.print("\nSelect Doctor ID: ");
+        String doctorId = scanner.nextLine();
+        Doctor selectedDoctor = null;
+        for (Person user : users) {
+            if (user instanceof Doctor && ((Doctor) user).getId().equals(doctorId)) {
+                selectedDoctor = (Doctor) user;
+                break;
+            }
+        }
+        if (selectedDoctor == null) {
+            System.out.println("Invalid doctor selection.");
+            return;
+        }
+
+        System.out.print("Day (1-5 for Monday-Friday, 0 for any day): ");
+        int dayChoice = Integer.parseInt(scanner.nextLine());
+        if (dayChoice < 0 || dayChoice > 5) {
+            System.out.println("Invalid day selection.");
+            return;
+        }
+        StaticSchedule.Day selectedDay = dayChoice == 0 ? null : StaticSchedule.Day.values()[dayChoice - 1];
+
+        if (selectedDoctor.getStaticSchedule() != null) {
+            for (StaticSchedule.Day day : StaticSchedule.Day.values()) {
+                if ((selectedDay == null || selectedDay == day) && !selectedDoctor.getStaticSchedule()
+                        .getAvailableTimeSlots(day, selectedDoctor.getAppointments()).isEmpty()) {
+                    System.out.println("Dr. " + selectedDoctor.getFullName() + " still has free slots on " + day + ", please book one instead.");
+                    return;
+                }
+            }
+        }
+
+        try {
+            WaitlistEntry entry = waitlists.join(patient, selectedDoctor, selectedDay);
+            System.out.println("You are on the waitlist, position " + waitlists.getWaitlist(selectedDoctor).getPosition(entry)
+                    + ". You will be booked automatically when a slot frees up.");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
     private static void viewAppointments() {
         System.out.println("\n### Appointments ###");
-        if (currentUser instanceof Patient) {
+        if (can(Permission.VIEW_OWN_APPOINTMENTS)) {
             Patient patient = (Patient) currentUser;
             List<Appointment> appointments = patient.getAppointments();
             if (appointments.isEmpty()) {
@@ -736,7 +1213,7 @@ public class Main {
                     System.out.println("Cost: $" + appointment.getCost());
                 }
             }
-        } else if (currentUser instanceof Doctor) {
+        } else if (can(Permission.MANAGE_APPOINTMENTS)) {
             Doctor doctor = (Doctor) currentUser;
             List<Appointment> appointments = doctor.getAppointments();
             if (appointments.isEmpty()) {
@@ -760,7 +1237,7 @@ public class Main {
     }
 
     private static void viewPatients() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.VIEW_PATIENTS)) {
             System.out.println("\n### Patients ###");
             Doctor doctor = (Doctor) currentUser;
             List<Patient> patients = doctor.getPatients();
@@ -779,7 +1256,7 @@ public class Main {
     }
 
     private static void writePrescription() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.WRITE_PRESCRIPTION)) {
             System.out.println("\n### Write Prescription ###");
             System.out.print("Patient ID: ");
             String patientId = scanner.nextLine();
@@ -820,7 +1297,7 @@ public class Main {
     }
 
     private static void updateMedicalRecords() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.UPDATE_MEDICAL_RECORDS)) {
             System.out.println("\n### Update Medical Records ###");
             System.out.print("Patient ID: ");
             String patientId = scanner.nextLine();
@@ -868,6 +1345,7 @@ public class Main {
                 );
 
                 selectedPatient.setMedicalRecord(record);
+                audit(EventType.MEDICAL_RECORD_UPDATED, record, "created");
                 System.out.println("Medical record updated successfully!");
             } else {
                 System.out.println("Invalid patient selection.");
@@ -876,7 +1354,7 @@ public class Main {
     }
 
     private static void viewSchedule() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.MANAGE_APPOINTMENTS)) {
             System.out.println("\n### Schedule ###");
             Doctor doctor = (Doctor) currentUser;
             StaticSchedule schedule = doctor.getStaticSchedule();
@@ -900,11 +1378,12 @@ public class Main {
     }
 
     private static void viewMedicalRecords() {
-        if (currentUser instanceof Patient) {
+        if (can(Permission.VIEW_OWN_MEDICAL_RECORDS)) {
             System.out.println("\n### Medical Records ###");
             Patient patient = (Patient) currentUser;
             MedicalRecord record = patient.getMedicalRecord();
             if (record != null) {
+                audit(EventType.MEDICAL_RECORD_VIEWED, record, null);
                 System.out.println("Blood Type: " + record.getBloodType());
                 System.out.println("Height: " + record.getHeight() + " cm");
                 System.out.println("Weight: " + record.getWeight() + " kg");
@@ -922,7 +1401,7 @@ public class Main {
     }
 
     private static void viewPrescriptions() {
-        if (currentUser instanceof Patient) {
+        if (can(Permission.VIEW_OWN_PRESCRIPTIONS)) {
             System.out.println("\n### Prescriptions ###");
             Patient patient = (Patient) currentUser;
             List<Prescription> prescriptions = patient.getPrescriptions();
@@ -930,6 +1409,7 @@ public class Main {
                 System.out.println("No prescriptions found.");
             } else {
                 for (Prescription prescription : prescriptions) {
+                    audit(EventType.PRESCRIPTION_VIEWED, prescription, null);
                     System.out.println("\nMedication: " + prescription.getMedication());
                     System.out.println("Dosage Type: " + prescription.getDosageType());
                     System.out.println("Usage: " + prescription.getUsage());
@@ -940,7 +1420,7 @@ public class Main {
             }
         } 
         
-        else if (currentUser instanceof Pharmacist) {
+        else if (can(Permission.DISPENSE_PRESCRIPTIONS)) {
             System.out.println("\n### Prescriptions ###");
             Pharmacist pharmacist = (Pharmacist) currentUser;
             List<Prescription> prescriptions = pharmacist.getPrescriptions();
@@ -948,6 +1428,7 @@ public class Main {
                 System.out.println("No prescriptions found.");
             } else {
                 for (Prescription prescription : prescriptions) {
+                    audit(EventType.PRESCRIPTION_VIEWED, prescription, null);
                     System.out.println("\nMedication: " + prescription.getMedication());
                     System.out.println("Patient: " + prescription.getPatient().getFullName());
                     System.out.println("Doctor: " + prescription.getDoctor().getFullName());
@@ -958,7 +1439,7 @@ public class Main {
     }
 
     private static void writeReview() {
-        if (currentUser instanceof Patient) {
+        if (can(Permission.WRITE_REVIEW)) {
             System.out.println("\n### Write Review ###");
             System.out.println("\nAvailable Doctors:");
             for (Person user : users) {
@@ -995,6 +1476,11 @@ public class Main {
                 String comment = scanner.nextLine();
 
                 Review review = new Review((Patient) currentUser, selectedDoctor, comment, rating);
+                ReviewVerdict verdict = reviewValidator.validate(review);
+                if (!verdict.isAccepted()) {
+                    System.out.println(verdict.getMessage());
+                    return;
+                }
                 selectedDoctor.addReview(review);
                 System.out.println("Review added successfully!");
             } else {
@@ -1008,24 +1494,109 @@ public class Main {
         for (Person user : users) {
             if (user instanceof Doctor) {
                 Doctor doc = (Doctor) user;
-                System.out.println("\nDoctor: " + doc.getFullName() + " (" + doc.getSpecialty() + ")");
-                List<Review> reviews = doc.getReviews();
-                if (reviews.isEmpty()) {
+                System.out.println("\nDoctor: " + doc.getId() + ": " + doc.getFullName() + " (" + doc.getSpecialty() + ")");
+                if (doc.getRatingStats().getCount() == 0) {
                     System.out.println("No reviews yet.");
                 } else {
-                    for (Review review : reviews) {
-                        System.out.println("- Rating: " + review.getRating() + "/5");
-                        System.out.println("  Comment: " + review.getComment());
-                    }
+                    System.out.println(doc.getRatingStats().GeneralInfo());
+                    printReviews(doc.getReviewStore().getPage(null, 3, 0)); // the latest few only
                 }
             }
         }
+
+        System.out.print("\nEnter Doctor ID to read all reviews (leave empty to go back): ");
+        String doctorId = scanner.nextLine();
+        if (doctorId.isEmpty()) {
+            return;
+        }
+        Doctor selectedDoctor = null;
+        for (Person user : users) {
+            if (user instanceof Doctor && ((Doctor) user).getId().equals(doctorId)) {
+                selectedDoctor = (Doctor) user;
+                break;
+            }
+        }
+        if (selectedDoctor == null) {
+            System.out.println("Invalid doctor selection.");
+            return;
+        }
+
+        System.out.print("Only show rating (1-5, leave empty for all): ");
+        int rating;
+        try {
+            String input = scanner.nextLine();
+            rating = input.isEmpty() ? 0 : Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            rating = -1;
+        }
+        if (rating < 0 || rating > 5) {
+            System.out.println("Invalid rating.");
+            return;
+        }
+
+        String cursor = null;
+        while (true) {
+            ReviewPage page = selectedDoctor.getReviewStore().getPage(cursor, 10, rating);
+            if (page.isEmpty() && cursor == null) {
+                System.out.println("No reviews found.");
+                return;
+            }
+            printReviews(page);
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print("Show more? (y/n): ");
+            if (!scanner.nextLine().equalsIgnoreCase("y")) {
+                return;
+            }
+            cursor = page.getNextCursor();
+        }
+    }
+
+    private static void printReviews(ReviewPage page) {
+        for (Review review : page.getReviews()) {
+            System.out.println("- Rating: " + review.getRating() + "/5" +
+                    " (" + review.getReviewDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + ")");
+            System.out.println("  Comment: " + review.getComment());
+        }
+    }
+
+    private static void showTopDoctors() {
+        System.out.println("\n### Top Doctors ###");
+        List<Doctor> top = leaderboard.getTop(10);
+        if (top.isEmpty()) {
+            System.out.println("No doctors found.");
+            return;
+        }
+        for (int i = 0; i < top.size(); i++) {
+            Doctor doc = top.get(i);
+            System.out.println((i + 1) + ". " + doc.getFullName() + " (" + doc.getSpecialty() + ") - Score: " +
+                    String.format("%.2f", leaderboard.getScore(doc)) + ", " + doc.getRatingStats().GeneralInfo());
+        }
     }
 
     private static void showBilling() {
-        if (currentUser instanceof Patient) { // for this specific patient
+        if (can(Permission.VIEW_OWN_BILL)) { // for this specific patient
             System.out.println("\n### Billing ###");
             Patient patient = (Patient) currentUser;
+
+            // room stays are charged to bills by the billing job
+            List<Bill> unpaidBills = new ArrayList<>();
+            for (Bill bill : patient.getBills()) {
+                if (!bill.isPaid()) {
+                    unpaidBills.add(bill);
+                    System.out.println(bill.GeneralInfo());
+                }
+            }
+            if (!unpaidBills.isEmpty()) {
+                System.out.print("Pay room bills now? (y/n): ");
+                if (scanner.nextLine().startsWith("y")) {
+                    for (Bill bill : unpaidBills) {
+                        patient.payBill(bill);
+                    }
+                }
+            }
+
             List<Appointment> appointments = patient.getAppointments();
             double total = 0.0;
             List<Appointment> unpaid = new ArrayList<>();
@@ -1091,10 +1662,14 @@ public class Main {
     }
 
     private static void createDepartment() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_DEPARTMENTS)) {
             System.out.println("\n### Create Department ###");
             System.out.print("Department Name: ");
             String name = scanner.nextLine();
+            if (departments.findByName(name) != null) {
+                System.out.println("A department with this name already exists.");
+                return;
+            }
             System.out.print("Location: ");
             String location = scanner.nextLine();
 
@@ -1117,10 +1692,11 @@ public class Main {
             }
 
             if (selectedDoctor != null) {
-                Department newDepartment = new Department(name, selectedDoctor, location);
-                departments.add(newDepartment);
-                ((Founder) currentUser).createDepartment(name, selectedDoctor, location);
-                System.out.println("Department created successfully!");
+                if (((Founder) currentUser).createDepartment(name, selectedDoctor, location) != null) {
+                    System.out.println("Department created successfully!");
+                } else {
+                    System.out.println("A department with this name already exists.");
+                }
             } else {
                 System.out.println("Invalid doctor selection.");
             }
@@ -1128,7 +1704,7 @@ public class Main {
     }
 
     private static void hireDoctor() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_STAFF)) {
             System.out.println("\nWholeDoctors Doctors:");
             for (Person user : users) {
                 if (user instanceof Doctor) {
@@ -1151,13 +1727,7 @@ public class Main {
                 }
             }
 
-            Department selectedDept = null;
-            for (Department dept : departments) {
-                if (dept.getName().equals(deptName)) {
-                    selectedDept = dept;
-                    break;
-                }
-            }
+            Department selectedDept = departments.findByName(deptName);
 
             if (selectedDoctor != null && selectedDept != null) {
                 ((Founder) currentUser).hireDoctor(selectedDoctor, selectedDept);
@@ -1169,7 +1739,7 @@ public class Main {
     }
 
     private static void fireDoctor() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_STAFF)) {
             System.out.println("\n### Fire Doctor ###");
             System.out.print("Doctor ID: ");
             String doctorId = scanner.nextLine();
@@ -1184,6 +1754,9 @@ public class Main {
 
             if (selectedDoctor != null) {
                 ((Founder) currentUser).fireDoctor(selectedDoctor);
+                credentials.unregister(selectedDoctor); // first, so no new login or failure counter can start
+                sessions.closeAll(selectedDoctor); // signed out everywhere
+                loginLimiter.forget(selectedDoctor); // drop the account's failure counter with it
                 System.out.println("Doctor fired successfully!");
             } else {
                 System.out.println("Invalid doctor selection.");
@@ -1192,7 +1765,7 @@ public class Main {
     }
 
     private static void viewAllWorkers() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_STAFF)) {
             System.out.println("\n### All Workers ###");
             System.out.println("\nDoctors:");
             for (Person user : users) {
@@ -1206,9 +1779,9 @@ public class Main {
     }
 
     private static void viewAllDepartments() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_DEPARTMENTS)) {
             System.out.println("\n### All Departments ###");
-            for (Department dept : departments) {
+            for (Department dept : departments.getDepartments()) {
                 System.out.println("\nDepartment: " + dept.getName());
                 System.out.println("Location: " + dept.getLocation());
                 System.out.println("Head: " + (dept.getHead() != null ? dept.getHead().getFullName() : "None"));
@@ -1221,7 +1794,7 @@ public class Main {
     }
 
     private static void generateMonthlyReport() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.VIEW_REPORTS)) {
             System.out.println("\n### Monthly Report ###");
             System.out.println("Departments: " + departments.size());
             int doctorCount = 0;
@@ -1259,7 +1832,7 @@ public class Main {
     }
 
     private static void manageDoctorAppointments() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.MANAGE_APPOINTMENTS)) {
             Doctor doctor = (Doctor) currentUser;
             List<Appointment> appointments = doctor.getAppointments();
             if (appointments.isEmpty()) {
@@ -1301,6 +1874,9 @@ public class Main {
                 case "2":
                     setAppointmentStatus(selected, "Canceled");
                     System.out.println("Appointment canceled.");
+                    if (selected.getReplacement() != null) { // filled from the waitlist while canceling
+                        System.out.println("The slot went to " + selected.getReplacement().getPatient().getFullName() + " from your waitlist.");
+                    }
                     break;
                 case "3":
                     return;
@@ -1360,7 +1936,11 @@ public class Main {
             );
             newDoctor.setPrivateFee(privateFee);
             newDoctor.setStaticSchedule(new StaticSchedule());
-            users.add(newDoctor);
+            if (!addUser(newDoctor)) {
+                return;
+            }
+            leaderboard.track(newDoctor);
+            reviewValidator.track(newDoctor);
             System.out.println("Private doctor created successfully!");
         } 
         
@@ -1390,7 +1970,11 @@ public class Main {
                     salary
             );
             newDoctor.setStaticSchedule(new StaticSchedule());
-            users.add(newDoctor);
+            if (!addUser(newDoctor)) {
+                return;
+            }
+            leaderboard.track(newDoctor);
+            reviewValidator.track(newDoctor);
             System.out.println("Hospital doctor created successfully!");
         }
     }
@@ -1442,18 +2026,12 @@ public class Main {
 
 
         System.out.println("Available Departments:");
-        for (Department dept : departments) {
+        for (Department dept : departments.getDepartments()) {
             System.out.println(dept.getName());
         }
         System.out.print("Department Name: ");
         String deptName = scanner.nextLine();
-        Department department = null;
-        for (Department dept : departments) {
-            if (dept.getName().equals(deptName)) {
-                department = dept;
-                break;
-            }
-        }
+        Department department = departments.findByName(deptName);
         if (department == null) {
             System.out.println("Invalid department. Assistant could not be created. We're too sorry.");
             return;
@@ -1467,12 +2045,13 @@ public class Main {
                 assistantId, firstName, lastName, age, gender, phoneNumber, username, password,
                 supervisor, experience, duty, department, salary
         );
-        users.add(newAssistant);
-        System.out.println("Assistant created successfully!");
+        if (addUser(newAssistant)) {
+            System.out.println("Assistant created successfully!");
+        }
     }
 
     private static void updatePatientMedicalRecord() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.UPDATE_MEDICAL_RECORDS)) {
             System.out.println("\n### Update Patient Medical Record ###");
             
             System.out.println("\nYour Patients:");
@@ -1508,6 +2087,7 @@ public class Main {
                 System.out.println("No medical record found for this patient.");
                 return;
             }
+            audit(EventType.MEDICAL_RECORD_VIEWED, record, null);
             
             while (true) {
                 System.out.println("\nWhat would you like to update?");
@@ -1532,6 +2112,7 @@ public class Main {
                             System.out.print("Enter new height (cm): ");
                             double height = Double.parseDouble(scanner.nextLine());
                             record.setHeight(height);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "height");
                             System.out.println("Height updated successfully.");
                             break;
                             
@@ -1539,6 +2120,7 @@ public class Main {
                             System.out.print("Enter new weight (kg): ");
                             double weight = Double.parseDouble(scanner.nextLine());
                             record.setWeight(weight);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "weight");
                             System.out.println("Weight updated successfully.");
                             break;
                             
@@ -1546,6 +2128,7 @@ public class Main {
                             System.out.print("Enter new blood type: ");
                             String bloodType = scanner.nextLine();
                             record.setBloodType(bloodType);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "blood type");
                             System.out.println("Blood type updated successfully.");
                             break;
                             
@@ -1553,6 +2136,7 @@ public class Main {
                             System.out.print("Enter new diagnoses: ");
                             String diagnoses = scanner.nextLine();
                             record.setDiagnoses(diagnoses);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "diagnoses");
                             System.out.println("Diagnoses updated successfully.");
                             break;
                             
@@ -1560,6 +2144,7 @@ public class Main {
                             System.out.print("Enter new procedures: ");
                             String procedures = scanner.nextLine();
                             record.setProcedures(procedures);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "procedures");
                             System.out.println("Procedures updated successfully.");
                             break;
                             
@@ -1567,6 +2152,7 @@ public class Main {
                             System.out.print("Enter new allergies: ");
                             String allergies = scanner.nextLine();
                             record.setAllergies(allergies);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "allergies");
                             System.out.println("Allergies updated successfully.");
                             break;
                             
@@ -1574,6 +2160,7 @@ public class Main {
                             System.out.print("Enter new immunizations: ");
                             String immunizations = scanner.nextLine();
                             record.setImmunizations(immunizations);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "immunizations");
                             System.out.println("Immunizations updated successfully.");
                             break;
                             
@@ -1581,6 +2168,7 @@ public class Main {
                             System.out.print("Enter new lab results: ");
                             String labResults = scanner.nextLine();
                             record.setLabResults(labResults);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "lab results");
                             System.out.println("Lab results updated successfully.");
                             break;
                             
@@ -1588,6 +2176,7 @@ public class Main {
                             System.out.print("Enter medication to add: ");
                             String medication = scanner.nextLine();
                             record.addMedication(medication);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "medication added");
                             System.out.println("Medication added successfully.");
                             break;
                             
@@ -1595,6 +2184,7 @@ public class Main {
                             System.out.print("Enter medication to remove: ");
                             String medToRemove = scanner.nextLine();
                             record.removeMedication(medToRemove);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "medication removed");
                             System.out.println("Medication removed successfully.");
                             break;
                             
@@ -1602,6 +2192,7 @@ public class Main {
                             System.out.print("Enter new notes: ");
                             String notes = scanner.nextLine();
                             record.setNotes(notes);
+                            audit(EventType.MEDICAL_RECORD_UPDATED, record, "notes");
                             System.out.println("Notes updated successfully.");
                             break;
                             
@@ -1620,7 +2211,7 @@ public class Main {
     }
 
     private static void createRoom() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_ROOMS)) {
             System.out.println("\n### Create Room ###");
             
             System.out.print("Room Name: ");
@@ -1639,45 +2230,78 @@ public class Main {
             String equipment = scanner.nextLine();
             
             Room newRoom = new Room(roomName, roomType, capacity, hourlyRate, equipment);
-            rooms.add(newRoom);
-            System.out.println("Room created successfully!");
+            if (roomScheduler.addRoom(newRoom)) {
+                System.out.println("Room created successfully!");
+            } else {
+                System.out.println("A room named " + roomName + " already exists.");
+            }
         }
     }
 
     private static void viewAllRooms() {
-        if (currentUser instanceof Founder) {
+        if (can(Permission.MANAGE_ROOMS)) {
             System.out.println("\n### All Rooms ###");
-            if (rooms.isEmpty()) {
+            if (roomScheduler.size() == 0) {
                 System.out.println("No rooms found.");
                 return;
             }
             
-            for (Room room : rooms) {
+            for (Room room : roomScheduler.getRooms()) {
                 System.out.println(room.GeneralInfo());
             }
         }
     }
 
     private static void viewAvailableRooms() {
-        if (currentUser instanceof Doctor) {
-            System.out.println("\n### Available Rooms ###");
+        if (can(Permission.MANAGE_ADMISSIONS)) {
+            showBedDashboard();
+            if (roomScheduler.size() == 0) {
+                return;
+            }
+
+            System.out.print("Enter room type to list its available rooms (leave empty to go back): ");
+            String roomType = scanner.nextLine().trim();
+            if (roomType.isEmpty()) {
+                return;
+            }
+
             boolean hasAvailableRooms = false;
-            
-            for (Room room : rooms) {
+            for (Room room : roomScheduler.getRoomsOfType(roomType)) {
                 if (room.isAvailable()) {
                     System.out.println(room.GeneralInfo());
                     hasAvailableRooms = true;
                 }
             }
-            
+
             if (!hasAvailableRooms) {
                 System.out.println("No available rooms found.");
             }
         }
     }
 
+    // reads the per type counters only, does not touch the rooms themselves
+    private static void showBedDashboard() {
+        if (can(Permission.VIEW_BED_DASHBOARD)) {
+            System.out.println("\n### Bed Dashboard ###");
+            List<RoomOccupancy> occupancy = roomScheduler.getOccupancySnapshot();
+            if (occupancy.isEmpty()) {
+                System.out.println("No rooms found.");
+                return;
+            }
+
+            int beds = 0;
+            int freeBeds = 0;
+            for (RoomOccupancy type : occupancy) {
+                System.out.println(type.GeneralInfo());
+                beds += type.getBeds();
+                freeBeds += type.getFreeBeds();
+            }
+            System.out.println("Total Free Beds: " + freeBeds + "/" + beds);
+        }
+    }
+
     private static void assignPatientToRoom() {
-        if (currentUser instanceof Doctor) {
+        if (can(Permission.MANAGE_ADMISSIONS)) {
             System.out.println("\n### Assign Patient to Room ###");
             
             Doctor doctor = (Doctor) currentUser;
@@ -1710,7 +2334,7 @@ public class Main {
             
             System.out.println("\nAvailable Rooms:");
             boolean hasAvailableRooms = false;
-            for (Room room : rooms) {
+            for (Room room : roomScheduler.getRooms()) {
                 if (room.isAvailable()) {
                     System.out.println(room.GeneralInfo());
                     hasAvailableRooms = true;
@@ -1725,21 +2349,320 @@ public class Main {
             System.out.print("\nEnter Room Name: ");
             String roomName = scanner.nextLine();
             
-            Room selectedRoom = null;
-            for (Room room : rooms) {
-                if (room.getRoomName().equals(roomName) && room.isAvailable()) {
-                    selectedRoom = room;
+            Room selectedRoom = roomScheduler.getRoom(roomName);
+            if (selectedRoom == null || !selectedRoom.isAvailable()) {
+                System.out.println("Invalid room selection or room is not available.");
+                return;
+            }
+            
+            if (roomScheduler.admit(selectedRoom, selectedPatient) != null) {
+                System.out.println("Patient assigned to room successfully!");
+            }
+        }
+    }
+
+    private static void dischargePatient() {
+        if (can(Permission.MANAGE_ADMISSIONS)) {
+            System.out.println("\n### Discharge Patient ###");
+            System.out.print("Room Name: ");
+            Room room = roomScheduler.getRoom(scanner.nextLine());
+            if (room == null) {
+                System.out.println("Room not found.");
+                return;
+            }
+            List<Patient> occupants = room.getOccupants();
+            if (occupants.isEmpty()) {
+                System.out.println("There is no patient in this room.");
+                return;
+            }
+            for (Patient patient : occupants) {
+                System.out.println(patient.getId() + ": " + patient.getFullName());
+            }
+            System.out.print("\nSelect Patient ID: ");
+            String patientId = scanner.nextLine();
+            Patient selectedPatient = null;
+            for (Patient patient : occupants) {
+                if (patient.getId().equals(patientId)) {
+                    selectedPatient = patient;
                     break;
                 }
             }
-            
-            if (selectedRoom == null) {
-                System.out.println("Invalid room selection or room is not available.");
+            if (selectedPatient == null) {
+                System.out.println("Invalid patient selection.");
                 return;
             }
-            
-            selectedRoom.assignPatient(selectedPatient);
-            System.out.println("Patient assigned to room successfully!");
+
+            Admission admission = roomScheduler.discharge(room, selectedPatient);
+            if (admission == null) {
+                System.out.println("Patient is not in this room anymore.");
+            } else {
+                System.out.println("Patient discharged. " + admission.GeneralInfo());
+            }
+        }
+    }
+
+    private static void requestSurgery() {
+        if (can(Permission.REQUEST_SURGERY)) {
+            System.out.println("\n### Request Surgery ###");
+
+            Doctor doctor = (Doctor) currentUser;
+            List<Patient> patients = doctor.getPatients();
+            if (patients.isEmpty()) {
+                System.out.println("No patients found.");
+                return;
+            }
+            System.out.println("\nYour Patients:");
+            for (Patient patient : patients) {
+                System.out.println(patient.getId() + ": " + patient.getFullName());
+            }
+            System.out.print("\nSelect Patient ID: ");
+            String patientId = scanner.nextLine();
+            Patient selectedPatient = null;
+            for (Patient patient : patients) {
+                if (patient.getId().equals(patientId)) {
+                    selectedPatient = patient;
+                    break;
+                }
+            }
+            if (selectedPatient == null) {
+                System.out.println("Invalid patient selection.");
+                return;
+            }
+
+            System.out.print("Procedure Name: ");
+            String name = scanner.nextLine();
+            System.out.print("Duration (minutes): ");
+            int duration;
+            try {
+                duration = Integer.parseInt(scanner.nextLine());
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid duration.");
+                return;
+            }
+            System.out.print("Required Equipment (comma separated, empty for none): ");
+            String equipment = scanner.nextLine();
+
+            try {
+                Procedure procedure = new Procedure(Procedure.generateNewProcedureId(), name, doctor,
+                        selectedPatient, duration, equipment);
+                pendingProcedures.add(procedure);
+                System.out.println("Surgery requested! " + procedure.GeneralInfo());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void planOperatingRooms() {
+        if (can(Permission.PLAN_OPERATING_ROOMS)) {
+            System.out.println("\n### Plan Operating Rooms ###");
+            if (pendingProcedures.isEmpty()) {
+                System.out.println("No surgeries waiting for a room.");
+                return;
+            }
+            System.out.print("Date (yyyy-MM-dd): ");
+            OperatingSchedule schedule;
+            try {
+                schedule = operatingRoomScheduler.solve(LocalDate.parse(scanner.nextLine()), pendingProcedures);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                System.out.println("Error: " + e.getMessage());
+                return;
+            }
+
+            System.out.println(schedule.GeneralInfo());
+            for (ProcedureBooking booking : schedule.getBookings()) {
+                System.out.println(booking.GeneralInfo());
+            }
+            for (Map.Entry<Procedure, String> entry : schedule.getUnscheduled().entrySet()) {
+                System.out.println("Not scheduled: " + entry.getKey().getName() + " (" + entry.getKey().getProcedureId() + ") - " + entry.getValue());
+            }
+            if (schedule.getBookings().isEmpty()) {
+                return;
+            }
+
+            System.out.print("\nReserve these rooms? (y/n): ");
+            if (!scanner.nextLine().equalsIgnoreCase("y")) {
+                return;
+            }
+            List<ProcedureBooking> failed = operatingRoomScheduler.book(schedule);
+            for (ProcedureBooking booking : schedule.getBookings()) {
+                if (!failed.contains(booking)) {
+                    pendingProcedures.remove(booking.getProcedure());
+                }
+            }
+            System.out.println((schedule.getBookings().size() - failed.size()) + " surgeries booked.");
+            for (ProcedureBooking booking : failed) {
+                System.out.println("Room was taken meanwhile, try again: " + booking.GeneralInfo());
+            }
+        }
+    }
+
+    // Writes a full snapshot of all appointments, transactions, prescriptions and reviews as gzip
+    // files named after today's date.
+    private static void exportData() {
+        if (can(Permission.EXPORT_DATA)) {
+            System.out.println("\n### Export Data ###");
+            System.out.print("Directory: ");
+            Path directory = Path.of(scanner.nextLine().trim());
+            System.out.print("Format (1. CSV, 2. JSON lines): ");
+            ExportFormat format = scanner.nextLine().trim().equals("2") ? ExportFormat.JSON_LINES : ExportFormat.CSV;
+            try {
+                Map<String, Long> rows = exporter.exportAll(directory, LocalDate.now(), format);
+                for (Map.Entry<String, Long> entry : rows.entrySet()) {
+                    System.out.println(entry.getKey() + ": " + entry.getValue() + " rows -> "
+                            + directory.resolve(HospitalExporter.fileName(entry.getKey(), LocalDate.now(), format)));
+                }
+            } catch (IOException e) {
+                System.out.println("Export failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Loads a whole clinic from CSV or JSON lines files (.csv, .jsonl) instead of typing every
+    // record in. Rows are checked like the forms check them; bad rows are reported and skipped.
+    private static void bulkImport() {
+        if (can(Permission.IMPORT_DATA)) {
+            System.out.println("\n### Bulk Import ###");
+            System.out.println("1. Patients");
+            System.out.println("2. Doctors");
+            System.out.println("3. Appointments");
+            System.out.println("4. Inventory");
+            System.out.println("5. Rooms");
+            System.out.print("Select what to import: ");
+            String choice = scanner.nextLine();
+            System.out.print("File path: ");
+            Path file = Path.of(scanner.nextLine().trim());
+
+            BulkImporter importer = new BulkImporter();
+            ImportReport report;
+            try {
+                switch (choice) {
+                    case "1":
+                        report = importer.importFile(file, ImportMappers.patients(), Main::importUser);
+                        break;
+                    case "2":
+                        report = importer.importFile(file, ImportMappers.doctors(), doctor -> {
+                            importUser(doctor);
+                            leaderboard.track(doctor);
+                            reviewValidator.track(doctor);
+                        });
+                        break;
+                    case "3":
+                        Map<String, Person> byId = new HashMap<>(); // read by the workers, not changed during the import
+                        Set<String> appointmentIds = new HashSet<>(); // ids are unique across doctors, only the sink uses this
+                        for (Person user : users) {
+                            byId.put(user.getId(), user);
+                            if (user instanceof Doctor) {
+                                for (Appointment appointment : ((Doctor) user).getAppointments()) {
+                                    appointmentIds.add(appointment.getAppointmentId());
+                                }
+                            }
+                        }
+                        report = importer.importFile(file, ImportMappers.appointments(byId::get), appointment -> {
+                            if (appointmentIds.contains(appointment.getAppointmentId())
+                                    || !appointment.getDoctor().addAppointment(appointment)) {
+                                throw new IllegalArgumentException("Appointment " + appointment.getAppointmentId() + " is already booked.");
+                            }
+                            appointmentIds.add(appointment.getAppointmentId());
+                        });
+                        break;
+                    case "4":
+                        report = importer.importFile(file, ImportMappers.inventory(), item -> {
+                            if (inventory.addItem(item) != item) {
+                                throw new IllegalArgumentException("Item " + item.getItemId() + " is already stocked at " + item.getLocation() + ".");
+                            }
+                        });
+                        break;
+                    case "5":
+                        report = importer.importFile(file, ImportMappers.rooms(), room -> {
+                            if (!roomScheduler.addRoom(room)) {
+                                throw new IllegalArgumentException("Room " + room.getRoomName() + " already exists.");
+                            }
+                        });
+                        break;
+                    default:
+                        System.out.println("Invalid option.");
+                        return;
+                }
+            } catch (IOException e) {
+                System.out.println("Could not read " + file + ": " + e.getMessage());
+                return;
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+
+            System.out.println(report.GeneralInfo());
+            List<ImportReport.RowError> errors = report.getErrors();
+            for (int i = 0; i < errors.size() && i < 20; i++) {
+                System.out.println(errors.get(i));
+            }
+            if (report.getFailed() > 20) {
+                System.out.println("... and " + (report.getFailed() - 20) + " more rejected rows.");
+            }
+        }
+    }
+
+    private static void reserveRoom() {
+        if (can(Permission.MANAGE_ADMISSIONS)) {
+            System.out.println("\n### Reserve Room ###");
+
+            Doctor doctor = (Doctor) currentUser;
+            List<Patient> patients = doctor.getPatients();
+            if (patients.isEmpty()) {
+                System.out.println("No patients found.");
+                return;
+            }
+            System.out.println("\nYour Patients:");
+            for (Patient patient : patients) {
+                System.out.println(patient.getId() + ": " + patient.getFullName());
+            }
+            System.out.print("\nSelect Patient ID: ");
+            String patientId = scanner.nextLine();
+            Patient selectedPatient = null;
+            for (Patient patient : patients) {
+                if (patient.getId().equals(patientId)) {
+                    selectedPatient = patient;
+                    break;
+                }
+            }
+            if (selectedPatient == null) {
+                System.out.println("Invalid patient selection.");
+                return;
+            }
+
+            System.out.print("Room Type (e.g. Operating Room, empty for any): ");
+            String roomType = scanner.nextLine();
+            System.out.print("Date (yyyy-MM-dd): ");
+            LocalDate date = LocalDate.parse(scanner.nextLine());
+            System.out.print("From (HH:mm): ");
+            LocalTime from = LocalTime.parse(scanner.nextLine());
+            System.out.print("To (HH:mm): ");
+            LocalTime to = LocalTime.parse(scanner.nextLine());
+            if (!to.isAfter(from)) {
+                System.out.println("End time must be after start time.");
+                return;
+            }
+            LocalDateTime start = date.atTime(from);
+            LocalDateTime end = date.atTime(to);
+
+            List<Room> freeRooms = roomScheduler.findFreeRooms(roomType, start, end);
+            if (freeRooms.isEmpty()) {
+                System.out.println("No free rooms of this type in that time.");
+                return;
+            }
+            System.out.println("\nFree Rooms:");
+            for (Room room : freeRooms) {
+                System.out.println(room.GeneralInfo());
+            }
+
+            System.out.print("\nEnter Room Name: ");
+            RoomReservation reservation = roomScheduler.reserve(scanner.nextLine(), selectedPatient, start, end);
+            if (reservation == null) {
+                System.out.println("Invalid room selection or the room is fully booked in that time.");
+            } else {
+                System.out.println("Room reserved! " + reservation.GeneralInfo());
+            }
         }
     }
 
@@ -1747,6 +2670,9 @@ public class Main {
 
     private static void showPrivateDoctorMenu() {
         while (true) {
+            if (!sessionActive()) {
+                return;
+            }
             System.out.println("\n### Private Doctor Dashboard ###");
             System.out.println("1. View Profile");
             System.out.println("2. View Appointment2");
@@ -1794,7 +2720,7 @@ public class Main {
                     viewEarnings();
                     break;
                 case "11":
-                    currentUser = null;
+                    logout();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
@@ -1804,7 +2730,7 @@ public class Main {
     }
 
     private static void setConsultationFee() {
-        if (currentUser instanceof Doctor && ((Doctor) currentUser).isPrivateDoctor()) {
+        if (can(Permission.SET_CONSULTATION_FEE)) {
             System.out.println("\n### Set Consultation Fee ###");
             System.out.print("Enter new consultation fee ($): ");
             double privatefee = Double.parseDouble(scanner.nextLine());
@@ -1814,7 +2740,7 @@ public class Main {
     }
 
     private static void viewEarnings() {
-        if (currentUser instanceof Doctor && ((Doctor) currentUser).isPrivateDoctor()) {
+        if (can(Permission.VIEW_EARNINGS)) {
             Doctor doctor = (Doctor) currentUser;
             System.out.println("\n### Earnings Report ###");
             double totalEarnings = 0.0;
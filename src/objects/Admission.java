@@ -0,0 +1,81 @@
+package objects;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// A patient's stay in a room, from admission until discharge. Room charges are accrued in
+// whole minutes from the last billed moment, so repeated billing ticks never charge twice.
+public class Admission {
+    private final Room room;
+    private final Patient patient;
+    private final LocalDateTime admittedAt;
+    private LocalDateTime billedUntil;
+    private LocalDateTime dischargedAt;
+    private double totalCharged;
+
+    public Admission(Room room, Patient patient, LocalDateTime admittedAt) {
+        if (room == null || patient == null || admittedAt == null) {
+            throw new IllegalArgumentException("Room, patient and admission time cannot be null.");
+        } // admission cannot be created without these.
+        this.room = room;
+        this.patient = patient;
+        this.admittedAt = admittedAt;
+        this.billedUntil = admittedAt;
+    }
+
+    // Getters
+    public Room getRoom() {
+        return room;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public LocalDateTime getAdmittedAt() {
+        return admittedAt;
+    }
+
+    public synchronized LocalDateTime getDischargedAt() {
+        return dischargedAt;
+    }
+
+    public synchronized boolean isDischarged() {
+        return dischargedAt != null;
+    }
+
+    public synchronized double getTotalCharged() {
+        return totalCharged;
+    }
+
+    // Methods
+    // charge for the time since the last accrual up to `until`, 0 if there is nothing new
+    public synchronized double accrue(LocalDateTime until) {
+        if (dischargedAt != null && until.isAfter(dischargedAt)) {
+            until = dischargedAt;
+        }
+        long minutes = Duration.between(billedUntil, until).toMinutes();
+        if (minutes <= 0) {
+            return 0.0;
+        }
+        billedUntil = billedUntil.plusMinutes(minutes); // leftover seconds are billed next time
+        double charge = Math.round(room.getHourlyRate() * minutes / 60.0 * 100) / 100.0;
+        totalCharged += charge;
+        return charge;
+    }
+
+    synchronized void markDischarged(LocalDateTime time) {
+        this.dischargedAt = time;
+    }
+
+    public String GeneralInfo() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        LocalDateTime discharged = getDischargedAt();
+        return "Admission Patient: " + patient.getFullName() +
+                ", Room: " + room.getRoomName() +
+                ", Admitted: " + admittedAt.format(format) +
+                ", Discharged: " + (discharged == null ? "-" : discharged.format(format)) +
+                ", Charged: $" + String.format("%.2f", getTotalCharged());
+    }
+}
@@ -0,0 +1,93 @@
+package objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+// A list that only grows. Adding is amortized O(1) (the array doubles when full) and is
+// serialized by the list's own lock; readers take no lock at all. A reader reads the size
+// before the array, and every array the writer publishes holds at least that many elements,
+// so snapshot() is O(1) and sees a consistent prefix. Replaces CopyOnWriteArrayList where
+// bookings are appended one at a time and copying the whole list per add made bulk loads
+// quadratic.
+public class AppendOnlyList<T> {
+    private volatile Object[] elements;
+    private volatile int size;
+    private final Set<T> members; // only for addIfAbsent, guarded by this
+
+    public AppendOnlyList() {
+        this.elements = new Object[8];
+        this.members = new HashSet<>();
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized boolean contains(T element) {
+        return members.contains(element);
+    }
+
+    // an unmodifiable view of everything added so far; later adds do not show up in it
+    public List<T> snapshot() {
+        int count = size;
+        return new Snapshot<>(elements, count);
+    }
+
+    // Methods
+    public synchronized void add(T element) {
+        members.add(element);
+        append(element);
+    }
+
+    public synchronized boolean addIfAbsent(T element) {
+        if (!members.add(element)) {
+            return false;
+        }
+        append(element);
+        return true;
+    }
+
+    private void append(T element) {
+        Object[] current = elements;
+        int count = size;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+            elements = current; // published before the size that needs it
+        }
+        current[count] = element;
+        size = count + 1;
+    }
+
+    private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+        private final int size;
+
+        private Snapshot(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
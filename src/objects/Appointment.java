@@ -5,9 +5,8 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 public class Appointment {
-    private static int appointmentCounter = 1;
     public static String generateNewAppointmentId() {
-        return "APP" + String.format("%04d", appointmentCounter++);
+        return IdAllocator.getDefault().nextId("APP");
     }
 
     private String appointmentId;
@@ -18,6 +17,7 @@ public class Appointment {
     private double cost;
     private boolean paid;
     private int durationMinutes;
+    private volatile Appointment replacement; // booked into this one's slot from the waitlist after it was canceled
 
     public Appointment(String appointmentId, Patient patient, Doctor doctor, LocalDateTime dateTime) {
         if (appointmentId == null || patient == null || doctor == null || dateTime == null) {
@@ -39,7 +39,7 @@ public class Appointment {
         this.appointmentId = generateNewAppointmentId();
         this.patient = patient;
         this.doctor = doctor;
-        this.dateTime = LocalDateTime.of(2025, 5, 28, time.getHour(), time.getMinute());
+        this.dateTime = StaticSchedule.dateOf(day).atTime(time);
         this.status = "Scheduled";
         this.durationMinutes = 30;
         this.cost =  50.0;
@@ -67,7 +67,25 @@ public class Appointment {
     }
 
     public void setStatus(String status) {
+        String oldStatus = this.status;
         this.status = status;
+        if (!status.equals(oldStatus)) {
+            doctor.appointmentStatusChanged(this, oldStatus);
+        }
+    }
+
+    // sets the status of an appointment that isn't on a doctor's books yet, without telling anyone
+    void restoreStatus(String status) {
+        this.status = status;
+    }
+
+    // the appointment a waiting patient got in this canceled one's slot, null if nobody did
+    public Appointment getReplacement() {
+        return replacement;
+    }
+
+    void setReplacement(Appointment replacement) {
+        this.replacement = replacement;
     }
 
     public double getCost() {
@@ -1,9 +1,8 @@
 package objects;
 
 public class Assistant extends Person {
-    private static int assistantCounter = 1;
     public static String generateNewAssistantId() {
-        return "A" + String.format("%03d", assistantCounter++);
+        return IdAllocator.getDefault().nextId("A");
     }
     private Doctor supervisor;
     private short experience;
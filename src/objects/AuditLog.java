@@ -0,0 +1,306 @@
+package objects;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+// Append-only log of who looked at or changed medical records and prescriptions. It is an
+// asynchronous subscriber of the event bus, so the screen that shows a record only pays for
+// publishing an event. Entries are collected while events keep coming and committed together
+// with one write and one fsync (group commit) whenever the log catches up with the bus or
+// the batch is full. Every entry carries the SHA-256 of the previous entry's hash and its
+// own text, so editing, removing or reordering entries breaks the chain from that line on.
+public class AuditLog implements EventSubscriber, Closeable {
+    public static final String FILE_PROPERTY = "hospital.audit.file";
+    public static final String DEFAULT_FILE = "audit.log";
+    private static final String GENESIS = "0".repeat(64);
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+    private static final EventType[] AUDITED = {
+            EventType.MEDICAL_RECORD_VIEWED,
+            EventType.MEDICAL_RECORD_UPDATED,
+            EventType.PRESCRIPTION_VIEWED,
+            EventType.PRESCRIPTION_WRITTEN
+    };
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MessageDigest digest;
+    private final StringBuilder entry;
+    private ByteBuffer batch;
+    private int batchEntries;
+    private long sequence; // last entry written
+    private String lastHash;
+    private String pendingHash; // hash of the entry being formatted
+    private long committed;
+    private long committedSequence; // the chain as it is on disk, rolled back to when a write fails
+    private String committedHash;
+    private long committedBytes;
+    private boolean broken; // the file is in an unknown state, nothing more is written
+    private EventBus bus;
+
+    public AuditLog(Path file) throws IOException {
+        this.file = file;
+        this.digest = sha256();
+        this.entry = new StringBuilder(256);
+        this.batch = ByteBuffer.allocate(MAX_BATCH_BYTES);
+        this.lastHash = GENESIS;
+        recover();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.committedSequence = sequence;
+        this.committedHash = lastHash;
+        this.committedBytes = channel.size();
+    }
+
+    // Getters
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized long getLastSequence() {
+        return sequence;
+    }
+
+    // entries that have reached the disk
+    public synchronized long getCommittedCount() {
+        return committed;
+    }
+
+    // Methods
+    public synchronized void attach(EventBus bus) {
+        if (this.bus == null) {
+            this.bus = bus;
+            bus.subscribeAsync("audit", this, AUDITED);
+        }
+    }
+
+    @Override
+    public synchronized void onEvent(DomainEvent event) {
+        if (broken) {
+            return;
+        }
+        byte[] bytes = format(event);
+        if (bytes.length > batch.remaining()) {
+            if (!commit()) {
+                if (broken) {
+                    return;
+                }
+                bytes = format(event); // the chain went back to what is on disk
+            }
+            if (bytes.length > batch.capacity()) {
+                batch = ByteBuffer.allocate(bytes.length);
+            }
+        }
+        sequence++;
+        lastHash = pendingHash;
+        batch.put(bytes);
+        batchEntries++;
+    }
+
+    // the next entry of the chain, without adding it yet
+    private byte[] format(DomainEvent event) {
+        entry.setLength(0);
+        entry.append(sequence + 1).append('\t')
+                .append(Instant.ofEpochMilli(event.getTimestamp())).append('\t');
+        Person actor = event.getActor();
+        field(actor == null ? "system" : actor.getId()).append('\t');
+        entry.append(event.getType()).append('\t');
+        Object payload = event.getPayload();
+        if (payload instanceof MedicalRecord) {
+            MedicalRecord record = (MedicalRecord) payload;
+            field("record:" + record.getRecordId()).append('\t');
+            field(record.getPatient() == null ? "" : record.getPatient().getId()).append('\t');
+        } else if (payload instanceof Prescription) {
+            Prescription prescription = (Prescription) payload;
+            field("prescription:" + prescription.getMedication() + "@" + prescription.getIssueDate()).append('\t');
+            field(prescription.getPatient().getId()).append('\t');
+        } else {
+            entry.append("-\t-\t");
+        }
+        field(event.getDetail() == null ? "" : event.getDetail());
+        pendingHash = hash(lastHash, entry);
+        entry.append('\t').append(pendingHash).append('\n');
+        return entry.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void onBatchEnd() {
+        commit();
+    }
+
+    // writes whatever is buffered and forces it to disk
+    public synchronized void flush() {
+        commit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        EventBus attached;
+        synchronized (this) {
+            attached = bus;
+            bus = null;
+        }
+        if (attached != null) {
+            attached.awaitDrained(5000);
+            attached.unsubscribe(this);
+        }
+        synchronized (this) {
+            commit();
+            channel.close();
+        }
+    }
+
+    // Checks the whole chain. Returns the line number of the first entry that does not match
+    // (edited, removed or reordered, or a later one if the tampering rewrote the rest), or -1
+    // if the log is intact.
+    public static long findTampered(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        String previous = GENESIS;
+        long line = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                int tab = text.lastIndexOf('\t');
+                if (tab < 0) {
+                    return line;
+                }
+                String body = text.substring(0, tab);
+                String expected = hash(digest, previous, body);
+                if (!expected.equals(text.substring(tab + 1)) || !body.startsWith(line + "\t")) {
+                    return line;
+                }
+                previous = expected;
+            }
+        }
+        return -1;
+    }
+
+    // False when the batch could not be written. Its entries are lost then: the file is cut
+    // back to the last committed entry and the chain continues from there, so the next batch
+    // still verifies. If even that fails the log stops taking entries.
+    private boolean commit() {
+        if (batchEntries == 0) {
+            return true;
+        }
+        batch.flip();
+        int bytes = batch.remaining();
+        boolean written;
+        try {
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false); // one fsync for the whole batch
+            committed += batchEntries;
+            committedSequence = sequence;
+            committedHash = lastHash;
+            committedBytes += bytes;
+            written = true;
+        } catch (IOException e) {
+            System.err.println("AUDIT LOG WRITE FAILED, " + batchEntries + " entries (" + (committedSequence + 1)
+                    + "-" + sequence + ") lost: " + e.getMessage());
+            sequence = committedSequence;
+            lastHash = committedHash;
+            try {
+                channel.truncate(committedBytes); // no torn line in the middle of the file
+                channel.force(false);
+            } catch (IOException truncateFailed) {
+                broken = true;
+                System.err.println("AUDIT LOG DISABLED, " + file + " could not be restored to its last committed entry: "
+                        + truncateFailed.getMessage());
+            }
+            written = false;
+        }
+        batchEntries = 0;
+        batch.clear();
+        return written;
+    }
+
+    // Continues the chain of an existing log. A torn last line (a crash in the middle of a
+    // write) is cut off, everything before it was fsynced as a whole batch.
+    private void recover() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long length = raf.length();
+            long end = length;
+            raf.seek(end - 1);
+            if (raf.read() != '\n') {
+                end = lastNewline(raf, length - 1) + 1;
+                raf.setLength(end);
+            }
+            if (end == 0) {
+                return;
+            }
+            long start = lastNewline(raf, end - 1) + 1;
+            byte[] bytes = new byte[(int) (end - 1 - start)];
+            raf.seek(start);
+            raf.readFully(bytes);
+            String last = new String(bytes, StandardCharsets.UTF_8);
+            int firstTab = last.indexOf('\t');
+            int lastTab = last.lastIndexOf('\t');
+            if (firstTab < 0 || lastTab < 0) {
+                throw new IOException("Audit log " + file + " does not end with an audit entry.");
+            }
+            try {
+                sequence = Long.parseLong(last.substring(0, firstTab));
+            } catch (NumberFormatException e) {
+                throw new IOException("Audit log " + file + " does not end with an audit entry.", e);
+            }
+            lastHash = last.substring(lastTab + 1);
+        }
+    }
+
+    // position of the last '\n' before the given position, -1 if there is none
+    private static long lastNewline(RandomAccessFile raf, long before) throws IOException {
+        for (long pos = before - 1; pos >= 0; pos--) {
+            raf.seek(pos);
+            if (raf.read() == '\n') {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private StringBuilder field(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            entry.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c); // keep one entry per line
+        }
+        return entry;
+    }
+
+    private String hash(String previous, CharSequence body) {
+        return hash(digest, previous, body);
+    }
+
+    private static String hash(MessageDigest digest, String previous, CharSequence body) {
+        digest.reset();
+        digest.update(previous.getBytes(StandardCharsets.US_ASCII));
+        digest.update(body.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] hash = digest.digest();
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 
 
 public class Bill {
+    public static String generateNewBillId() {
+        return IdAllocator.getDefault().nextId("B");
+    }
+
     private String billId;
     private Patient patient;
     private LocalDateTime issueDate;
@@ -36,6 +40,26 @@ public class Bill {
         return issueDate;
     }
 
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public synchronized double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public synchronized double getPaidAmount() {
+        return paidAmount;
+    }
+
+    public synchronized double getRemainingAmount() {
+        return totalAmount - paidAmount;
+    }
+
+    public synchronized boolean isPaid() {
+        return isPaid;
+    }
+
     // Setters
     public void setBillId(String billId) {
         this.billId = billId;
@@ -52,7 +76,16 @@ public class Bill {
 
 
     // Methods
-    public void makePayment(double amount) {
+    // false when the bill is already paid, a new bill should be opened then
+    public synchronized boolean addCharge(double amount) {
+        if (isPaid) {
+            return false;
+        }
+        this.totalAmount += amount;
+        return true;
+    }
+
+    public synchronized void makePayment(double amount) {
         if (!isPaid) {
             this.paidAmount += amount;
             if (paidAmount >= totalAmount) {
@@ -66,7 +99,7 @@ public class Bill {
         }
     }
 
-    public String GeneralInfo() {
+    public synchronized String GeneralInfo() {
         String paid;
         if (isPaid) {
             paid = "Paid";
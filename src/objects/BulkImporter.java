@@ -0,0 +1,203 @@
+package objects;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Streams a CSV or JSON lines file into domain objects. The calling thread reads records
+// into chunks and hands each chunk to a worker, which parses the fields and runs the
+// mapper (constructors, validation, password hashing); finished chunks are handed to the
+// sink back on the calling thread in file order. At most a few chunks per worker are in
+// flight at once, so memory stays bounded however big the file is.
+public class BulkImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    // a quoted value longer than this is taken for a stray quote and the record is rejected
+    public static final int MAX_RECORD_LINES = 100;
+    public static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final int threads;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public BulkImporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkImporter(int threads, int chunkSize) {
+        if (threads <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Threads and chunk size must be positive.");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = threads * 2;
+    }
+
+    // a mapped row, or the reason it was rejected
+    private static class Result<T> {
+        private final long line;
+        private final T item;
+        private final String error;
+
+        private Result(long line, T item, String error) {
+            this.line = line;
+            this.item = item;
+            this.error = error;
+        }
+    }
+
+    private static class Record {
+        private final long line;
+        private final String text;
+        private final String error; // rejected while reading, text is null then
+
+        private Record(long line, String text, String error) {
+            this.line = line;
+            this.text = text;
+            this.error = error;
+        }
+    }
+
+    // Methods
+    public <T> ImportReport importFile(Path file, RowMapper<T> mapper, ImportSink<T> sink) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, ImportFormat.of(file), file.getFileName().toString(), mapper, sink);
+        }
+    }
+
+    public <T> ImportReport importFrom(Reader input, ImportFormat format, String source,
+                                       RowMapper<T> mapper, ImportSink<T> sink) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReport report = new ImportReport(source);
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<List<Result<T>>>> inFlight = new ArrayDeque<>();
+        try {
+            String[] header = null;
+            List<Record> chunk = new ArrayList<>(chunkSize);
+            StringBuilder record = new StringBuilder();
+            long line = 0;
+            long recordLine = 0;
+            boolean open = false; // inside a quoted value
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (record.length() == 0) {
+                    if (text.isBlank()) {
+                        continue;
+                    }
+                    recordLine = line;
+                } else {
+                    record.append('\n');
+                }
+                if (format.flipsQuote(text)) {
+                    open = !open;
+                }
+                Record done;
+                if (line - recordLine >= MAX_RECORD_LINES || record.length() + text.length() > MAX_RECORD_CHARS) {
+                    // Most likely a stray quote that would swallow the rest of the file: give up
+                    // on the record and start afresh on the next line.
+                    done = new Record(recordLine, null, "Record is longer than " + MAX_RECORD_LINES + " lines or "
+                            + MAX_RECORD_CHARS + " characters, unterminated quote? Lines " + recordLine + "-" + line + " skipped.");
+                    open = false;
+                } else {
+                    record.append(text);
+                    if (open) {
+                        continue; // quoted value goes on to the next line
+                    }
+                    done = new Record(recordLine, record.toString(), null);
+                }
+                record.setLength(0);
+                if (format.hasHeader() && header == null) {
+                    if (done.error != null) {
+                        throw new IllegalArgumentException("Unreadable header: " + done.error);
+                    }
+                    header = ImportFormat.parseHeader(done.text);
+                } else {
+                    chunk.add(done);
+                    if (chunk.size() == chunkSize) {
+                        submit(workers, inFlight, chunk, format, header, mapper, sink, report);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (record.length() > 0) {
+                chunk.add(new Record(recordLine, record.toString(), null)); // fails in the parser as unterminated
+            }
+            if (!chunk.isEmpty()) {
+                submit(workers, inFlight, chunk, format, header, mapper, sink, report);
+            }
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.poll(), sink, report);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        report.finished(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    private <T> void submit(ExecutorService workers, Deque<Future<List<Result<T>>>> inFlight, List<Record> chunk,
+                            ImportFormat format, String[] header, RowMapper<T> mapper, ImportSink<T> sink,
+                            ImportReport report) throws IOException {
+        while (inFlight.size() >= maxInFlight) {
+            drain(inFlight.poll(), sink, report); // back pressure, the reader waits for the oldest chunk
+        }
+        inFlight.add(workers.submit(() -> mapChunk(chunk, format, header, mapper)));
+    }
+
+    private static <T> List<Result<T>> mapChunk(List<Record> chunk, ImportFormat format, String[] header, RowMapper<T> mapper) {
+        List<Result<T>> results = new ArrayList<>(chunk.size());
+        for (Record record : chunk) {
+            if (record.error != null) {
+                results.add(new Result<>(record.line, null, record.error));
+                continue;
+            }
+            try {
+                ImportRow row = new ImportRow(record.line, format.parse(record.text, header));
+                results.add(new Result<>(record.line, mapper.map(row), null));
+            } catch (RuntimeException e) { // a bad row, whatever the mapper threw, must not stop the import
+                results.add(new Result<>(record.line, null, e.getMessage() != null ? e.getMessage() : e.toString()));
+            }
+        }
+        return results;
+    }
+
+    private static <T> void drain(Future<List<Result<T>>> future, ImportSink<T> sink, ImportReport report) throws IOException {
+        List<Result<T>> results;
+        try {
+            results = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Import worker failed.", e.getCause());
+        }
+        for (Result<T> result : results) {
+            if (result.error != null) {
+                report.failed(result.line, result.error);
+                continue;
+            }
+            try {
+                sink.accept(result.item);
+                report.imported();
+            } catch (IllegalArgumentException e) {
+                report.failed(result.line, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package objects;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// How much of one item left the shelf per day. Only the last RETENTION_DAYS are kept,
+// so memory stays the same no matter how long the hospital runs.
+public class ConsumptionHistory {
+    public static final int RETENTION_DAYS = 120;
+
+    private final ConcurrentNavigableMap<LocalDate, LongAdder> dailyUsage;
+    private volatile LocalDate lastPruned;
+
+    public ConsumptionHistory() {
+        this.dailyUsage = new ConcurrentSkipListMap<>();
+        this.lastPruned = LocalDate.MIN;
+    }
+
+    // Methods
+    public void record(LocalDate day, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        dailyUsage.computeIfAbsent(day, d -> new LongAdder()).add(amount);
+        if (!day.equals(lastPruned)) { // at most once per day
+            lastPruned = day;
+            dailyUsage.headMap(day.minusDays(RETENTION_DAYS)).clear();
+        }
+    }
+
+    public long getUsage(LocalDate day) {
+        LongAdder usage = dailyUsage.get(day);
+        return usage == null ? 0 : usage.sum();
+    }
+
+    // usage for the `days` days ending on lastDay, oldest first, days without usage are 0
+    public long[] getDailySeries(LocalDate lastDay, int days) {
+        long[] series = new long[days];
+        LocalDate firstDay = lastDay.minusDays(days - 1L);
+        for (Map.Entry<LocalDate, LongAdder> entry : dailyUsage.subMap(firstDay, true, lastDay, true).entrySet()) {
+            int index = (int) (entry.getKey().toEpochDay() - firstDay.toEpochDay());
+            series[index] = entry.getValue().sum();
+        }
+        return series;
+    }
+}
@@ -0,0 +1,143 @@
+package objects;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Logins by username. A login costs one PBKDF2 run whether or not the user exists (unknown
+// names are checked against a dummy hash), so timing does not reveal which usernames are
+// real. At most one hash per CPU runs at a time; more logins wait in line instead of all
+// slowing down together, which keeps the slowest login bounded during a login storm.
+// A successful login is remembered for a few minutes as an HMAC of the password under a
+// key that only lives in memory, so repeating it is a hash map lookup, not another PBKDF2.
+public class CredentialStore {
+    private static final long DEFAULT_CACHE_MILLIS = 5 * 60 * 1000;
+    private static final long HASH_WAIT_MILLIS = 5000; // give up (login fails) after waiting this long
+
+    private static class VerifiedLogin {
+        private final Person person;
+        private final String passwordHash; // the hash it was verified against
+        private final byte[] proof;
+        private final long expiresAt;
+
+        private VerifiedLogin(Person person, String passwordHash, byte[] proof, long expiresAt) {
+            this.person = person;
+            this.passwordHash = passwordHash;
+            this.proof = proof;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Map<String, Person> byUsername;
+    private final Map<String, VerifiedLogin> verified;
+    private final PasswordHasher hasher;
+    private final Semaphore hashPermits;
+    private final long cacheMillis;
+    private final byte[] cacheKey;
+    private final String dummyHash;
+
+    public CredentialStore() {
+        this(PasswordHasher.getDefault(), DEFAULT_CACHE_MILLIS);
+    }
+
+    public CredentialStore(PasswordHasher hasher, long cacheMillis) {
+        this.byUsername = new ConcurrentHashMap<>();
+        this.verified = new ConcurrentHashMap<>();
+        this.hasher = hasher;
+        this.hashPermits = new Semaphore(Runtime.getRuntime().availableProcessors(), true);
+        this.cacheMillis = cacheMillis;
+        SecureRandom random = new SecureRandom();
+        this.cacheKey = new byte[32];
+        random.nextBytes(cacheKey);
+        this.dummyHash = hasher.hash(Long.toHexString(random.nextLong()));
+    }
+
+    // Getters
+    public Person findByUsername(String username) {
+        return byUsername.get(username);
+    }
+
+    // every registered user, a live view that can be walked while users are being added
+    public Collection<Person> getUsers() {
+        return Collections.unmodifiableCollection(byUsername.values());
+    }
+
+    public int size() {
+        return byUsername.size();
+    }
+
+    // Methods
+    // false when the username is already taken
+    public boolean register(Person person) {
+        return byUsername.putIfAbsent(person.getUsername(), person) == null;
+    }
+
+    public void unregister(Person person) {
+        byUsername.remove(person.getUsername(), person);
+        verified.remove(person.getUsername());
+    }
+
+    // forget a remembered login, e.g. after the user changed their password
+    public void invalidate(String username) {
+        verified.remove(username);
+    }
+
+    // The person, or null when the username or password is wrong (or the login waited too long).
+    public Person authenticate(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+        Person person = byUsername.get(username);
+        byte[] proof = proof(username, password);
+
+        VerifiedLogin remembered = verified.get(username);
+        if (remembered != null && person != null && remembered.person == person
+                && remembered.expiresAt > System.currentTimeMillis()
+                && remembered.passwordHash.equals(person.getPasswordHash())
+                && MessageDigest.isEqual(remembered.proof, proof)) {
+            return person;
+        }
+
+        String passwordHash = person == null || person.getPasswordHash() == null ? dummyHash : person.getPasswordHash();
+        boolean matches;
+        try {
+            if (!hashPermits.tryAcquire(HASH_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            matches = hasher.verify(password, passwordHash);
+        } finally {
+            hashPermits.release();
+        }
+        if (!matches || passwordHash == dummyHash) {
+            return null;
+        }
+        verified.put(username, new VerifiedLogin(person, passwordHash, proof, System.currentTimeMillis() + cacheMillis));
+        return person;
+    }
+
+    private byte[] proof(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(cacheKey, "HmacSHA256"));
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available in this JDK.", e);
+        }
+    }
+}
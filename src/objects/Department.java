@@ -1,19 +1,21 @@
 package objects;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Department {
     private String name;
     private Doctor head;
     private String location;
-    public List<Doctor> doctors;
+    private final Set<Doctor> doctors; // concurrent, so the read-only view can be iterated while doctors change
+    private DepartmentIndex index; // told about every membership change once the department is indexed
 
     public Department(String name, Doctor head, String location) {
         this.name = name;
         this.head = head;
         this.location = location;
-        this.doctors = new ArrayList<>();
+        this.doctors = ConcurrentHashMap.newKeySet();
         if (head != null) {
             this.doctors.add(head);
         }
@@ -24,7 +26,7 @@ public class Department {
         return name;
     }
 
-    public Doctor getHead() {
+    public synchronized Doctor getHead() {
         return head;
     }
 
@@ -32,32 +34,43 @@ public class Department {
         return location;
     }
 
-    public List<Doctor> getDoctors() {
-        return new ArrayList<>(doctors);
+    public Set<Doctor> getDoctors() {
+        return Collections.unmodifiableSet(doctors);
+    }
+
+    public boolean hasDoctor(Doctor doctor) {
+        return doctors.contains(doctor);
     }
 
     // Setters
-    public void setHead(Doctor head) {
+    public synchronized void setHead(Doctor head) {
         this.head = head;
-        if (!doctors.contains(head)) {
-            doctors.add(head);
-        }
+        addDoctor(head);
     }
 
-    public void addDoctor(Doctor doctor) {
-        if (!doctors.contains(doctor)) {
-            doctors.add(doctor);
+    public synchronized void addDoctor(Doctor doctor) {
+        if (doctors.add(doctor) && index != null) {
+            index.linked(doctor, this);
         }
     }
 
-    public void removeDoctor(Doctor doctor) {
-        doctors.remove(doctor);
+    public synchronized void removeDoctor(Doctor doctor) {
+        if (doctors.remove(doctor) && index != null) {
+            index.unlinked(doctor, this);
+        }
         if (head == doctor) {
             head = null;
         }
     }
 
-    public String GeneralInfo() {
+    synchronized void attach(DepartmentIndex index) {
+        this.index = index;
+        for (Doctor doctor : doctors) {
+            index.linked(doctor, this);
+        }
+    }
+
+    public synchronized String GeneralInfo() {
         String info = "Department Name: " + name +
                       "| Location: " + location +
                       "| Head: " + head.getFullName() +
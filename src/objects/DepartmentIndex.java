@@ -0,0 +1,113 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Departments by name and doctor -> departments, kept in step with Department's own doctor
+// set. Finding a department, checking membership and hiring, firing or moving a doctor
+// are hash lookups, nothing walks the department list.
+public class DepartmentIndex {
+    private final Map<String, Department> byName; // in the order they were added
+    private final Map<Doctor, Set<Department>> byDoctor;
+    private final List<DepartmentListener> listeners;
+
+    public DepartmentIndex() {
+        this.byName = new LinkedHashMap<>();
+        this.byDoctor = new HashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    // Getters
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    public synchronized List<Department> getDepartments() {
+        return new ArrayList<>(byName.values());
+    }
+
+    public synchronized Department findByName(String name) {
+        return byName.get(name);
+    }
+
+    public synchronized Set<Department> getDepartmentsOf(Doctor doctor) {
+        Set<Department> departments = byDoctor.get(doctor);
+        return departments == null ? Collections.emptySet() : new LinkedHashSet<>(departments);
+    }
+
+    public synchronized boolean isMember(Doctor doctor, Department department) {
+        Set<Department> departments = byDoctor.get(doctor);
+        return departments != null && departments.contains(department);
+    }
+
+    // Methods
+    public void addListener(DepartmentListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(DepartmentListener listener) {
+        listeners.remove(listener);
+    }
+
+    // false when a department with the same name is already indexed
+    public boolean addDepartment(Department department) {
+        synchronized (this) {
+            if (byName.containsKey(department.getName())) {
+                return false;
+            }
+            byName.put(department.getName(), department);
+        }
+        department.attach(this); // links its current doctors through linked()
+        return true;
+    }
+
+    public void assign(Doctor doctor, Department department) {
+        department.addDoctor(doctor);
+    }
+
+    public void reassign(Doctor doctor, Department from, Department to) {
+        from.removeDoctor(doctor);
+        to.addDoctor(doctor);
+    }
+
+    // takes the doctor out of every department it belongs to
+    public void removeDoctor(Doctor doctor) {
+        for (Department department : getDepartmentsOf(doctor)) {
+            department.removeDoctor(doctor); // outside our lock, Department locks itself and then us
+        }
+    }
+
+    // called by Department while it holds its own lock
+    void linked(Doctor doctor, Department department) {
+        synchronized (this) {
+            if (!byDoctor.computeIfAbsent(doctor, d -> new LinkedHashSet<>()).add(department)) {
+                return;
+            }
+        }
+        for (DepartmentListener listener : listeners) {
+            listener.doctorAdded(department, doctor);
+        }
+    }
+
+    void unlinked(Doctor doctor, Department department) {
+        synchronized (this) {
+            Set<Department> departments = byDoctor.get(doctor);
+            if (departments == null || !departments.remove(department)) {
+                return;
+            }
+            if (departments.isEmpty()) {
+                byDoctor.remove(doctor);
+            }
+        }
+        for (DepartmentListener listener : listeners) {
+            listener.doctorRemoved(department, doctor);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package objects;
+
+// Membership changes of indexed departments. Called while the department is locked, so
+// listeners must not call back into the department or the index.
+public interface DepartmentListener {
+    void doctorAdded(Department department, Doctor doctor);
+
+    void doctorRemoved(Department department, Doctor doctor);
+}
@@ -0,0 +1,194 @@
+package objects;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Sends new patients to the least busy doctor of a department. For every department and
+// weekday a min-heap holds the department's doctors keyed by booked slots that day, plus
+// one heap per specialty inside the department. Doctors report their own booking changes,
+// so a request reads the top of a heap instead of counting every doctor's appointments.
+public class DepartmentLoadBalancer implements DepartmentListener, ScheduleListener {
+    private static final String ANY_SPECIALTY = "";
+
+    // department -> specialty ("" for all doctors) -> day -> doctors by booked slots
+    private final Map<Department, Map<String, Map<StaticSchedule.Day, IndexedMinHeap<Doctor>>>> heaps;
+    private final Map<Doctor, Set<Department>> memberships;
+    private final Map<StaticSchedule.Day, LocalDate> countedFor; // the date each day's counts were taken on
+
+    public DepartmentLoadBalancer(DepartmentIndex index) {
+        this.heaps = new HashMap<>();
+        this.memberships = new HashMap<>();
+        this.countedFor = new EnumMap<>(StaticSchedule.Day.class);
+        index.addListener(this);
+        for (Department department : index.getDepartments()) {
+            for (Doctor doctor : department.getDoctors()) {
+                doctorAdded(department, doctor); // adding twice is harmless if a listener call raced us
+            }
+        }
+    }
+
+    // Getters
+    // null when every doctor of the department is fully booked that day
+    public synchronized Doctor findLeastLoaded(Department department, StaticSchedule.Day day, String specialty) {
+        recountIfRolledOver(day);
+        Map<String, Map<StaticSchedule.Day, IndexedMinHeap<Doctor>>> bySpecialty = heaps.get(department);
+        if (bySpecialty == null) {
+            return null;
+        }
+        if (specialty != null && !specialty.isBlank()) {
+            Doctor doctor = top(bySpecialty.get(key(specialty)), day);
+            if (doctor != null) {
+                return doctor;
+            } // nobody with that specialty has room, any doctor of the department will do
+        }
+        return top(bySpecialty.get(ANY_SPECIALTY), day);
+    }
+
+    public synchronized int getBookedSlots(Doctor doctor, Department department, StaticSchedule.Day day) {
+        Map<String, Map<StaticSchedule.Day, IndexedMinHeap<Doctor>>> bySpecialty = heaps.get(department);
+        if (bySpecialty == null || !bySpecialty.get(ANY_SPECIALTY).get(day).contains(doctor)) {
+            return -1;
+        }
+        return (int) bySpecialty.get(ANY_SPECIALTY).get(day).getKey(doctor);
+    }
+
+    // Methods
+    // Books the earliest free slot of the least loaded doctor. Returns null when nobody has one.
+    public Appointment assign(Department department, Patient patient, StaticSchedule.Day day, String specialty) {
+        int attempts;
+        synchronized (this) {
+            attempts = memberships.size() + 1; // every failed attempt corrects one doctor's count
+        }
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            Doctor doctor = findLeastLoaded(department, day, specialty);
+            if (doctor == null) {
+                return null;
+            }
+            synchronized (doctor) {
+                List<LocalTime> slots = doctor.getStaticSchedule().getAvailableTimeSlots(day, doctor.getAppointments());
+                if (!slots.isEmpty()) {
+                    Appointment appointment = doctor.scheduleAppointment(patient, day, slots.get(0));
+                    if (appointment != null) {
+                        return appointment;
+                    }
+                }
+            }
+            // Fuller than the heap says. Bookings update it, but the clock does not: slots that
+            // have started and a weekday rolling over to its next date change the free slots
+            // without any event. Re-read the doctor's count so the next attempt looks elsewhere.
+            scheduleChanged(doctor, day);
+        }
+        return null;
+    }
+
+    @Override
+    public void doctorAdded(Department department, Doctor doctor) {
+        if (doctor.getStaticSchedule() == null) {
+            return; // takes no appointments
+        }
+        boolean first;
+        synchronized (this) {
+            Set<Department> departments = memberships.computeIfAbsent(doctor, d -> new HashSet<>());
+            first = departments.isEmpty();
+            if (!departments.add(department)) {
+                return;
+            }
+            for (StaticSchedule.Day day : StaticSchedule.Day.values()) {
+                long booked = bookedSlots(doctor, day);
+                heap(department, ANY_SPECIALTY, day).put(doctor, booked);
+                heap(department, key(doctor.getSpecialty()), day).put(doctor, booked);
+            }
+        }
+        if (first) {
+            doctor.addScheduleListener(this);
+        }
+    }
+
+    @Override
+    public void doctorRemoved(Department department, Doctor doctor) {
+        boolean last;
+        synchronized (this) {
+            Set<Department> departments = memberships.get(doctor);
+            if (departments == null || !departments.remove(department)) {
+                return;
+            }
+            last = departments.isEmpty();
+            if (last) {
+                memberships.remove(doctor);
+            }
+            for (Map<StaticSchedule.Day, IndexedMinHeap<Doctor>> byDay : heaps.get(department).values()) {
+                for (IndexedMinHeap<Doctor> heap : byDay.values()) {
+                    heap.remove(doctor);
+                }
+            }
+        }
+        if (last) {
+            doctor.removeScheduleListener(this);
+        }
+    }
+
+    @Override
+    public void scheduleChanged(Doctor doctor, StaticSchedule.Day day) {
+        synchronized (this) {
+            Set<Department> departments = memberships.get(doctor);
+            if (departments == null) {
+                return;
+            }
+            long booked = bookedSlots(doctor, day); // re-read, so out of order calls still leave the latest count
+            for (Department department : departments) {
+                heap(department, ANY_SPECIALTY, day).put(doctor, booked);
+                heap(department, key(doctor.getSpecialty()), day).put(doctor, booked);
+            }
+        }
+    }
+
+    // Once a weekday has moved on to its next date every count for it is from the old date, so
+    // they are all taken again, once a week per day.
+    private void recountIfRolledOver(StaticSchedule.Day day) {
+        LocalDate date = StaticSchedule.dateOf(day);
+        if (date.equals(countedFor.put(day, date))) {
+            return;
+        }
+        for (Map.Entry<Doctor, Set<Department>> membership : memberships.entrySet()) {
+            Doctor doctor = membership.getKey();
+            long booked = bookedSlots(doctor, day);
+            for (Department department : membership.getValue()) {
+                heap(department, ANY_SPECIALTY, day).put(doctor, booked);
+                heap(department, key(doctor.getSpecialty()), day).put(doctor, booked);
+            }
+        }
+    }
+
+    private IndexedMinHeap<Doctor> heap(Department department, String specialty, StaticSchedule.Day day) {
+        return heaps.computeIfAbsent(department, d -> new HashMap<>())
+                .computeIfAbsent(specialty, s -> new EnumMap<>(StaticSchedule.Day.class))
+                .computeIfAbsent(day, d -> new IndexedMinHeap<>());
+    }
+
+    private static Doctor top(Map<StaticSchedule.Day, IndexedMinHeap<Doctor>> byDay, StaticSchedule.Day day) {
+        if (byDay == null || byDay.get(day) == null) {
+            return null;
+        }
+        Doctor doctor = byDay.get(day).peek();
+        if (doctor == null || byDay.get(day).getKey(doctor) >= StaticSchedule.getSlotCount()) {
+            return null; // the least loaded one is full, so is everyone else
+        }
+        return doctor;
+    }
+
+    private static long bookedSlots(Doctor doctor, StaticSchedule.Day day) {
+        return StaticSchedule.getSlotCount()
+                - doctor.getStaticSchedule().getAvailableTimeSlots(day, doctor.getAppointments()).size();
+    }
+
+    private static String key(String specialty) {
+        return specialty == null ? ANY_SPECIALTY : specialty.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,13 +1,17 @@
 package objects;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Doctor extends Person {
-    private static int doctorCounter = 1;
     public static String generateNewDoctorId() {
-        return "D" + String.format("%03d", doctorCounter++);
+        return IdAllocator.getDefault().nextId("D");
     }
     private String department; // This is string because hiring a doctor depends to the founder. This should be considered speciality
     private String specialty;
@@ -16,24 +20,39 @@ public class Doctor extends Person {
     private boolean isPrivate;
     private double salary; // Monthly salary for hospital doctors
     private String privatePracticeLocation; // For private doctors only
-    public List<Appointment> appointments;
-    public List<Patient> patients;
+    private final AppendOnlyList<Appointment> appointments; // readers iterate a snapshot, no copy and no lock
+    private final AppendOnlyList<Patient> patients;
+    private final Map<String, Appointment> appointmentsById; // guarded by this
+    private final TreeMap<LocalDateTime, Appointment> bookedSlots; // appointments not canceled, by start, guarded by this
     private double privateFee;
     private StaticSchedule staticSchedule;
-    public List<Review> reviews;
+    private final ReviewStore reviews; // by review date, for paged review screens
+    private final List<ScheduleListener> scheduleListeners = new CopyOnWriteArrayList<>();
+    private final RatingStats ratingStats = new RatingStats(); // kept up to date by addReview and Review.setRating
+    private final List<RatingListener> ratingListeners = new CopyOnWriteArrayList<>();
 
     public Doctor(String id, String firstName, String lastName, int age, char gender, String phoneNumber,
                  String username, String password, String department, String specialty, String officeNumber,
                   boolean isPrivate, double salary) {
-        super(id, firstName, lastName, age, gender, phoneNumber, username, password);
+        this(id, firstName, lastName, age, gender, phoneNumber, username, password, false, department, specialty,
+                officeNumber, isPrivate, salary);
+    }
+
+    // passwordIsHash: see Person
+    Doctor(String id, String firstName, String lastName, int age, char gender, String phoneNumber,
+           String username, String password, boolean passwordIsHash, String department, String specialty,
+           String officeNumber, boolean isPrivate, double salary) {
+        super(id, firstName, lastName, age, gender, phoneNumber, username, password, passwordIsHash);
         this.department = department;
         this.specialty = specialty;
         this.officeNumber = officeNumber;
         this.isPrivate = isPrivate;
         this.salary = salary;
-        this.appointments = new ArrayList<>();
-        this.patients = new ArrayList<>();
-        this.reviews = new ArrayList<>();
+        this.appointments = new AppendOnlyList<>();
+        this.patients = new AppendOnlyList<>();
+        this.appointmentsById = new HashMap<>();
+        this.bookedSlots = new TreeMap<>();
+        this.reviews = new ReviewStore();
         this.staticSchedule = new StaticSchedule();
         this.privateFee = 250.0;
     }
@@ -72,19 +91,28 @@ public class Doctor extends Person {
     }
 
     public List<Appointment> getAppointments() {
-        return new ArrayList<>(appointments);
+        return appointments.snapshot();
     }
 
     public List<Patient> getPatients() {
-        return new ArrayList<>(patients);
+        return patients.snapshot();
     }
 
     public StaticSchedule getStaticSchedule() {
         return staticSchedule;
     }
 
-    public List<Review> getReviews() {
-        return new ArrayList<>(reviews);
+    public RatingStats getRatingStats() {
+        return ratingStats;
+    }
+
+    // newest first; review screens should page through getReviewStore() instead
+    public Collection<Review> getReviews() {
+        return reviews.getAll();
+    }
+
+    public ReviewStore getReviewStore() {
+        return reviews;
     }
 
     public boolean isPrivateDoctor() {
@@ -118,17 +146,75 @@ public class Doctor extends Person {
     }
 
     // Methods
+    public void addScheduleListener(ScheduleListener listener) {
+        scheduleListeners.add(listener);
+    }
+
+    public void removeScheduleListener(ScheduleListener listener) {
+        scheduleListeners.remove(listener);
+    }
+
+    void appointmentStatusChanged(Appointment appointment, String oldStatus) {
+        for (ScheduleListener listener : scheduleListeners) {
+            listener.appointmentStatusChanged(appointment, oldStatus);
+        }
+        if ("Canceled".equals(appointment.getStatus())) {
+            synchronized (this) {
+                bookedSlots.remove(appointment.getDateTime(), appointment); // the slot is free again
+            }
+        }
+        scheduleChanged(StaticSchedule.dayOf(appointment.getDateTime().toLocalDate()));
+        if ("Canceled".equals(appointment.getStatus())) {
+            EventBus.getDefault().publish(EventType.APPOINTMENT_CANCELLED, appointment, null, appointment.getCost());
+        } else if ("Completed".equals(appointment.getStatus())) {
+            EventBus.getDefault().publish(EventType.APPOINTMENT_COMPLETED, appointment, this, appointment.getCost());
+        }
+    }
+
+    void scheduleChanged(StaticSchedule.Day day) {
+        if (day == null) {
+            return; // weekend, not on the schedule
+        }
+        for (ScheduleListener listener : scheduleListeners) {
+            listener.scheduleChanged(this, day);
+        }
+    }
+
+    public void addRatingListener(RatingListener listener) {
+        ratingListeners.add(listener);
+    }
+
+    public void removeRatingListener(RatingListener listener) {
+        ratingListeners.remove(listener);
+    }
+
     public void addReview(Review review) {
-        reviews.add(review);
+        synchronized (review) {
+            if (review.isCounted()) {
+                return; // already added
+            }
+            reviews.add(review);
+            ratingStats.add(review.getRating());
+            review.setCounted();
+        }
+        ratingChanged();
     }
 
-    public double calculateAverageRating() {
-        if (reviews.isEmpty()) return 0.0;
-        double sum = 0.0;
-        for (Review review : reviews) {
-            sum += review.getRating();
+    // called by Review after the rating of an added review changed
+    void reviewRated(Review review, int oldRating, int newRating) {
+        reviews.rerated(review, oldRating, newRating);
+        ratingStats.change(oldRating, newRating);
+        ratingChanged();
+    }
+
+    private void ratingChanged() {
+        for (RatingListener listener : ratingListeners) {
+            listener.ratingChanged(this);
         }
-        return sum / reviews.size();
+    }
+
+    public double calculateAverageRating() {
+        return ratingStats.getAverage();
     }
 
     @Override
@@ -148,13 +234,65 @@ public class Doctor extends Person {
         return result;
     }
 
-    public Appointment scheduleAppointment(Patient patient, StaticSchedule.Day day, LocalTime time) {
+    // null when the slot is taken, e.g. a waitlist backfill got it while the patient was choosing
+    public synchronized Appointment scheduleAppointment(Patient patient, StaticSchedule.Day day, LocalTime time) {
+        if (findOverlap(StaticSchedule.dateOf(day).atTime(time), StaticSchedule.SLOT_MINUTES) != null) {
+            return null;
+        }
         Appointment appointment = new Appointment(patient, this, day, time);
         appointments.add(appointment);
+        appointmentsById.put(appointment.getAppointmentId(), appointment);
+        bookedSlots.put(appointment.getDateTime(), appointment);
         patient.addAppointment(appointment);
-        if (!patients.contains(patient)) {
-            patients.add(patient);
-        }
+        patients.addIfAbsent(patient);
+        scheduleChanged(day);
+        EventBus.getDefault().publish(EventType.APPOINTMENT_BOOKED, appointment, patient, appointment.getCost());
         return appointment;
     }
+
+    // Puts an appointment made elsewhere (an import) on the books. Listeners hear about it as
+    // a booking and, if it isn't Scheduled any more, as a status change right after. False when
+    // the doctor already has an appointment with that id; throws when it overlaps another one
+    // that isn't canceled.
+    public synchronized boolean addAppointment(Appointment appointment) {
+        if (appointment.getDoctor() != this) {
+            throw new IllegalArgumentException("Appointment " + appointment.getAppointmentId() + " belongs to another doctor.");
+        }
+        if (appointmentsById.containsKey(appointment.getAppointmentId())) {
+            return false;
+        }
+        if (!"Canceled".equals(appointment.getStatus())) {
+            Appointment clash = findOverlap(appointment.getDateTime(), appointment.getDurationMinutes());
+            if (clash != null) {
+                throw new IllegalArgumentException("Dr. " + getFullName() + " already has appointment "
+                        + clash.getAppointmentId() + " at " + clash.getDateTime() + ".");
+            }
+            bookedSlots.put(appointment.getDateTime(), appointment);
+        }
+        appointmentsById.put(appointment.getAppointmentId(), appointment);
+        appointments.add(appointment);
+        Patient patient = appointment.getPatient();
+        patient.addAppointment(appointment);
+        patients.addIfAbsent(patient);
+        scheduleChanged(StaticSchedule.dayOf(appointment.getDateTime().toLocalDate()));
+        EventBus.getDefault().publish(EventType.APPOINTMENT_BOOKED, appointment, patient, appointment.getCost());
+        if (!appointment.getStatus().equals("Scheduled")) {
+            appointmentStatusChanged(appointment, "Scheduled");
+        }
+        return true;
+    }
+
+    // Booked slots never overlap each other, so only the neighbours on either side can
+    // overlap the new one.
+    private Appointment findOverlap(LocalDateTime start, int durationMinutes) {
+        Map.Entry<LocalDateTime, Appointment> before = bookedSlots.floorEntry(start);
+        if (before != null && before.getKey().plusMinutes(before.getValue().getDurationMinutes()).isAfter(start)) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, Appointment> after = bookedSlots.higherEntry(start);
+        if (after != null && after.getKey().isBefore(start.plusMinutes(durationMinutes))) {
+            return after.getValue();
+        }
+        return null;
+    }
 }
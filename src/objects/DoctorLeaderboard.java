@@ -0,0 +1,106 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Doctors ranked by Bayesian adjusted rating. Every rating change moves only that doctor's
+// entry in a sorted set, so the top N is read off the front instead of re-averaging
+// everyone's reviews.
+public class DoctorLeaderboard implements RatingListener {
+    private static final double DEFAULT_PRIOR_MEAN = 3.0;
+    private static final double DEFAULT_PRIOR_WEIGHT = 5.0;
+
+    private static class Entry {
+        private final Doctor doctor;
+        private final double score;
+        private final long sequence; // tie breaker, doctors with equal scores stay distinct
+
+        private Entry(Doctor doctor, double score, long sequence) {
+            this.doctor = doctor;
+            this.score = score;
+            this.sequence = sequence;
+        }
+    }
+
+    private final double priorMean;
+    private final double priorWeight;
+    private final TreeSet<Entry> ranking;
+    private final Map<Doctor, Entry> entries;
+    private long nextSequence;
+
+    public DoctorLeaderboard() {
+        this(DEFAULT_PRIOR_MEAN, DEFAULT_PRIOR_WEIGHT);
+    }
+
+    public DoctorLeaderboard(double priorMean, double priorWeight) {
+        if (priorWeight < 0) {
+            throw new IllegalArgumentException("Prior weight cannot be negative.");
+        }
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.ranking = new TreeSet<>((a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Long.compare(a.sequence, b.sequence);
+        });
+        this.entries = new HashMap<>();
+    }
+
+    // Getters
+    public synchronized List<Doctor> getTop(int n) {
+        List<Doctor> result = new ArrayList<>();
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext() && result.size() < n) {
+            result.add(iterator.next().doctor);
+        }
+        return result;
+    }
+
+    public double getScore(Doctor doctor) {
+        return doctor.getRatingStats().getAdjustedAverage(priorMean, priorWeight);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Methods
+    public void track(Doctor doctor) {
+        synchronized (this) {
+            if (entries.containsKey(doctor)) {
+                return;
+            }
+            rank(doctor);
+        }
+        doctor.addRatingListener(this);
+    }
+
+    public void untrack(Doctor doctor) {
+        doctor.removeRatingListener(this);
+        synchronized (this) {
+            Entry entry = entries.remove(doctor);
+            if (entry != null) {
+                ranking.remove(entry);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void ratingChanged(Doctor doctor) {
+        Entry entry = entries.get(doctor);
+        if (entry == null) {
+            return;
+        }
+        ranking.remove(entry);
+        rank(doctor); // re-read, so out of order calls still leave the latest score
+    }
+
+    private void rank(Doctor doctor) {
+        Entry entry = new Entry(doctor, getScore(doctor), nextSequence++);
+        entries.put(doctor, entry);
+        ranking.add(entry);
+    }
+}
@@ -0,0 +1,69 @@
+package objects;
+
+// Something that happened in the hospital. Instances are slots that the event bus fills in
+// and reuses (nothing is allocated per event), so subscribers read them while handling the
+// event and must not hold on to them.
+public class DomainEvent {
+    private EventType type;
+    private Object payload;
+    private Person actor;
+    private double amount;
+    private String detail;
+    private long timestamp;
+    private long sequence;
+
+    DomainEvent() {
+    }
+
+    // Getters
+    public EventType getType() {
+        return type;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public <T> T getPayload(Class<T> payloadType) {
+        return payloadType.cast(payload);
+    }
+
+    // who caused it, null when nobody in particular did
+    public Person getActor() {
+        return actor;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    // free text such as the field that changed, null if the type needs none
+    public String getDetail() {
+        return detail;
+    }
+
+    // milliseconds since the epoch
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    // async subscribers only, the event's position on the bus
+    public long getSequence() {
+        return sequence;
+    }
+
+    // Methods
+    void set(EventType type, Object payload, Person actor, double amount, String detail, long timestamp, long sequence) {
+        this.type = type;
+        this.payload = payload;
+        this.actor = actor;
+        this.amount = amount;
+        this.detail = detail;
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+    }
+
+    void clear() {
+        set(null, null, null, 0.0, null, 0L, -1L);
+    }
+}
@@ -0,0 +1,33 @@
+package objects;
+
+// The hospital's own bookkeeping, done by reacting to events instead of by the objects that
+// raise them: a prescription goes into the patient's medical record, and a new department's
+// setup cost is booked as an expense of the founder who created it. The default event bus
+// always has these subscribed.
+public final class DomainReactions {
+    public static final double DEPARTMENT_SETUP_COST = 50000.0;
+
+    private DomainReactions() {
+    }
+
+    public static void register(EventBus bus) {
+        bus.subscribe(DomainReactions::recordMedication, EventType.PRESCRIPTION_WRITTEN);
+        bus.subscribe(DomainReactions::bookDepartmentSetup, EventType.DEPARTMENT_CREATED);
+    }
+
+    private static void recordMedication(DomainEvent event) {
+        Prescription prescription = event.getPayload(Prescription.class);
+        MedicalRecord record = prescription.getPatient().getMedicalRecord();
+        if (record != null) {
+            record.addMedication(prescription.getMedication());
+        }
+    }
+
+    private static void bookDepartmentSetup(DomainEvent event) {
+        if (event.getActor() instanceof Founder) {
+            Department department = event.getPayload(Department.class);
+            ((Founder) event.getActor()).addExpense("Department Setup", event.getAmount(),
+                    "Initial setup cost for " + department.getName());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Gives every equipment name a bit number, so a room's equipment text ("Ventilator, Monitor")
+// and a procedure's requirements become bitsets and "does this room have everything" is a
+// couple of word operations instead of string matching.
+public class EquipmentTags {
+    private final Map<String, Integer> indexes;
+    private final List<String> names; // position is the bit number
+
+    public EquipmentTags() {
+        this.indexes = new ConcurrentHashMap<>();
+        this.names = new CopyOnWriteArrayList<>();
+    }
+
+    // Getters
+    public int size() {
+        return names.size();
+    }
+
+    // Methods
+    // bit number of the tag, a new tag gets the next free one
+    public int indexOf(String tag) {
+        String key = normalize(tag);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Equipment tag cannot be empty.");
+        }
+        Integer index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            return indexes.computeIfAbsent(key, k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    // equipment text is a list separated by commas, semicolons or slashes, case does not matter
+    public BitSet parse(String equipment) {
+        BitSet tags = new BitSet();
+        if (equipment == null) {
+            return tags;
+        }
+        for (String part : equipment.split("[,;/]")) {
+            if (!normalize(part).isEmpty()) {
+                tags.set(indexOf(part));
+            }
+        }
+        return tags;
+    }
+
+    public List<String> describe(BitSet tags) {
+        List<String> result = new ArrayList<>();
+        for (int i = tags.nextSetBit(0); i >= 0; i = tags.nextSetBit(i + 1)) {
+            result.add(names.get(i));
+        }
+        return result;
+    }
+
+    private static String normalize(String tag) {
+        return tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
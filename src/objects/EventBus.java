@@ -0,0 +1,286 @@
+package objects;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// In-process event bus in the style of a disruptor. Synchronous subscribers run on the
+// publishing thread before publish returns, on an event slot owned by that thread.
+// Asynchronous subscribers each run on their own thread and read events from a ring of
+// preallocated slots: publishers claim a sequence with one atomic increment, fill the slot
+// and mark it published; a subscriber follows the ring at its own pace and only blocks
+// (parks) when it has caught up. A publisher only waits when the slowest asynchronous
+// subscriber is a full ring behind. Publishing allocates nothing.
+public class EventBus {
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int SPINS = 100;
+
+    private static final class Holder {
+        private static final EventBus DEFAULT = createDefault();
+    }
+
+    // per thread stack of event slots, so a synchronous subscriber can publish in turn
+    private static final class Frames {
+        private DomainEvent[] events = new DomainEvent[4];
+        private int depth;
+
+        private DomainEvent push() {
+            if (depth == events.length) {
+                DomainEvent[] grown = new DomainEvent[depth * 2];
+                System.arraycopy(events, 0, grown, 0, depth);
+                events = grown;
+            }
+            if (events[depth] == null) {
+                events[depth] = new DomainEvent();
+            }
+            return events[depth++];
+        }
+
+        private void pop() {
+            events[--depth].clear(); // don't keep payloads alive
+        }
+    }
+
+    private final class AsyncSubscriber implements Runnable {
+        private final EventSubscriber subscriber;
+        private final long mask;
+        private volatile long sequence; // last event handled
+        private volatile boolean sleeping;
+        private volatile boolean running = true;
+        private Thread thread;
+
+        private AsyncSubscriber(EventSubscriber subscriber, long mask, long start) {
+            this.subscriber = subscriber;
+            this.mask = mask;
+            this.sequence = start;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence + 1;
+            int idle = 0;
+            boolean handled = false; // anything since the last onBatchEnd
+            while (running) {
+                int index = (int) (next & indexMask);
+                if (published.get(index) != next) {
+                    if (handled) {
+                        handled = false;
+                        endBatch(subscriber);
+                    }
+                    if (idle < SPINS) {
+                        idle++;
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    sleeping = true;
+                    if (published.get(index) != next && running) { // recheck after announcing, see wake()
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                idle = 0;
+                DomainEvent event = ring[index];
+                if ((mask & event.getType().bit()) != 0) {
+                    deliver(subscriber, event);
+                    handled = true;
+                }
+                sequence = next++; // frees the slot for publishers
+            }
+        }
+    }
+
+    private final DomainEvent[] ring;
+    private final AtomicLongArray published; // sequence last published into each slot
+    private final int indexMask;
+    private final AtomicLong claimed; // last sequence handed to a publisher
+    private final List<List<EventSubscriber>> syncByType;
+    private final List<AsyncSubscriber> asyncSubscribers;
+    private volatile long asyncMask; // types at least one async subscriber wants
+    private final ThreadLocal<Frames> frames;
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // capacity is rounded up to a power of two
+    public EventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new DomainEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            ring[i] = new DomainEvent();
+            published.set(i, -1L);
+        }
+        this.indexMask = size - 1;
+        this.claimed = new AtomicLong(-1L);
+        this.syncByType = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < EventType.values().length; i++) {
+            syncByType.add(new CopyOnWriteArrayList<>());
+        }
+        this.asyncSubscribers = new CopyOnWriteArrayList<>();
+        this.frames = ThreadLocal.withInitial(Frames::new);
+    }
+
+    // the bus the domain objects publish to, with the hospital's own bookkeeping subscribed
+    public static EventBus getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    private static EventBus createDefault() {
+        EventBus bus = new EventBus();
+        DomainReactions.register(bus);
+        return bus;
+    }
+
+    // Getters
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    // Methods
+    // no types means every type
+    public void subscribe(EventSubscriber subscriber, EventType... types) {
+        long mask = EventType.mask(types);
+        for (EventType type : EventType.values()) {
+            if ((mask & type.bit()) != 0) {
+                syncByType.get(type.ordinal()).add(subscriber);
+            }
+        }
+    }
+
+    // runs the subscriber on a thread of its own; it sees events published from now on
+    public synchronized void subscribeAsync(String name, EventSubscriber subscriber, EventType... types) {
+        AsyncSubscriber async = new AsyncSubscriber(subscriber, EventType.mask(types), claimed.get());
+        async.thread = new Thread(async, "event-" + name);
+        async.thread.setDaemon(true);
+        asyncSubscribers.add(async);
+        asyncMask |= async.mask;
+        async.thread.start();
+    }
+
+    public synchronized void unsubscribe(EventSubscriber subscriber) {
+        for (List<EventSubscriber> subscribers : syncByType) {
+            subscribers.remove(subscriber);
+        }
+        long mask = 0L;
+        for (AsyncSubscriber async : asyncSubscribers) {
+            if (async.subscriber == subscriber) {
+                stop(async);
+            } else {
+                mask |= async.mask;
+            }
+        }
+        asyncMask = mask;
+    }
+
+    public void publish(EventType type, Object payload, Person actor, double amount) {
+        publish(type, payload, actor, amount, null);
+    }
+
+    public void publish(EventType type, Object payload, Person actor, double amount, String detail) {
+        if (payload != null && !type.getPayloadType().isInstance(payload)) {
+            throw new IllegalArgumentException(type + " needs a " + type.getPayloadType().getSimpleName() + " payload.");
+        }
+        long now = System.currentTimeMillis();
+        List<EventSubscriber> subscribers = syncByType.get(type.ordinal());
+        DomainEvent event = null;
+        if (!subscribers.isEmpty()) {
+            Frames stack = frames.get();
+            event = stack.push();
+            event.set(type, payload, actor, amount, detail, now, -1L);
+            try {
+                for (EventSubscriber subscriber : subscribers) {
+                    deliver(subscriber, event);
+                }
+            } finally {
+                stack.pop();
+            }
+        }
+        if ((asyncMask & type.bit()) != 0) {
+            long sequence = claimed.incrementAndGet();
+            int index = (int) (sequence & indexMask);
+            waitForSlot(sequence);
+            ring[index].set(type, payload, actor, amount, detail, now, sequence);
+            published.set(index, sequence);
+            wake();
+        }
+    }
+
+    // true once every async subscriber has handled everything published so far
+    public boolean awaitDrained(long timeoutMillis) {
+        long target = claimed.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (minimumSequence() < target) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000L);
+        }
+        return true;
+    }
+
+    public synchronized void close() {
+        for (AsyncSubscriber async : asyncSubscribers) {
+            stop(async);
+        }
+        asyncMask = 0L;
+    }
+
+    private void stop(AsyncSubscriber async) {
+        async.running = false;
+        asyncSubscribers.remove(async);
+        LockSupport.unpark(async.thread);
+    }
+
+    // the slot is free once every async subscriber is past the event a full ring earlier
+    private void waitForSlot(long sequence) {
+        long wrapPoint = sequence - ring.length;
+        int spins = 0;
+        while (wrapPoint > minimumSequence()) {
+            if (spins++ < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000L);
+            }
+        }
+    }
+
+    private long minimumSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AsyncSubscriber async : asyncSubscribers) {
+            minimum = Math.min(minimum, async.sequence);
+        }
+        return minimum;
+    }
+
+    private void wake() {
+        for (AsyncSubscriber async : asyncSubscribers) {
+            if (async.sleeping) {
+                LockSupport.unpark(async.thread);
+            }
+        }
+    }
+
+    private static void endBatch(EventSubscriber subscriber) {
+        try {
+            subscriber.onBatchEnd();
+        } catch (RuntimeException e) {
+            System.err.println("Event subscriber failed at the end of a batch: " + e);
+        }
+    }
+
+    private static void deliver(EventSubscriber subscriber, DomainEvent event) {
+        try {
+            subscriber.onEvent(event);
+        } catch (RuntimeException e) {
+            // one failing subscriber must not stop the others or the publisher
+            System.err.println("Event subscriber failed on " + event.getType() + ": " + e);
+        }
+    }
+}
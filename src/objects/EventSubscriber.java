@@ -0,0 +1,12 @@
+package objects;
+
+// Reacts to domain events. The event object is reused for later events once this returns,
+// so copy out whatever has to be kept.
+public interface EventSubscriber {
+    void onEvent(DomainEvent event);
+
+    // async subscribers only: called when the subscriber has caught up with the bus, a good
+    // moment to flush whatever was buffered while events kept coming
+    default void onBatchEnd() {
+    }
+}
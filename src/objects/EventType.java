@@ -0,0 +1,43 @@
+package objects;
+
+// Kinds of domain events and what their payload is. Subscribers pick the types they want,
+// kept as a bit mask, so deciding whether a subscriber gets an event is one AND.
+public enum EventType {
+    APPOINTMENT_BOOKED(Appointment.class),
+    APPOINTMENT_CANCELLED(Appointment.class),
+    APPOINTMENT_COMPLETED(Appointment.class),
+    PRESCRIPTION_WRITTEN(Prescription.class),
+    PRESCRIPTION_VIEWED(Prescription.class),
+    MEDICAL_RECORD_VIEWED(MedicalRecord.class),
+    MEDICAL_RECORD_UPDATED(MedicalRecord.class), // detail names what changed
+    STOCK_ADDED(Inventory.class), // amount is the units added
+    STOCK_REMOVED(Inventory.class), // amount is the units used up
+    DEPARTMENT_CREATED(Department.class); // amount is the setup cost
+
+    private final Class<?> payloadType;
+    private final long bit = 1L << ordinal();
+
+    EventType(Class<?> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    // Getters
+    public Class<?> getPayloadType() {
+        return payloadType;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public static long mask(EventType... types) {
+        if (types.length == 0) {
+            return -1L; // everything
+        }
+        long mask = 0L;
+        for (EventType type : types) {
+            mask |= type.bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,93 @@
+package objects;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Nightly removal of expired lots. All lots of all watched items sit in one heap ordered by
+// expiry date, so a sweep only pops the lots that actually expired (O(k log n)) and never
+// looks at the rest of the stock.
+public class ExpirySweeper implements InventoryListener {
+    private final PriorityQueue<StockLot> byExpiry;
+    private ScheduledExecutorService executor;
+
+    public ExpirySweeper() {
+        this.byExpiry = new PriorityQueue<>();
+    }
+
+    // Getters
+    public synchronized int getPendingLotCount() {
+        return byExpiry.size();
+    }
+
+    // Methods
+    public void watch(Inventory item) {
+        item.addListener(this);
+        List<StockLot> existing = item.getLots();
+        synchronized (this) {
+            byExpiry.addAll(existing);
+        }
+    }
+
+    @Override
+    public void stockChanged(Inventory item) {
+        // quantities do not matter here, only new lots
+    }
+
+    @Override
+    public synchronized void lotReceived(Inventory item, StockLot lot) {
+        byExpiry.add(lot);
+    }
+
+    // removes every lot whose expiry date is before today, returns what was thrown away
+    public List<LotAllocation> sweep(LocalDate today) {
+        List<StockLot> expired = new ArrayList<>();
+        synchronized (this) {
+            while (!byExpiry.isEmpty() && byExpiry.peek().isExpired(today)) {
+                expired.add(byExpiry.poll());
+            }
+        }
+        List<LotAllocation> discarded = new ArrayList<>();
+        for (StockLot lot : expired) {
+            int amount = lot.getItem().expireLot(lot); // 0 when the lot was already used up
+            if (amount > 0) {
+                discarded.add(new LotAllocation(lot, amount));
+            }
+        }
+        return discarded;
+    }
+
+    // runs sweep() every night right after midnight on a background thread
+    public synchronized void start(Consumer<List<LotAllocation>> report) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalDateTime now = LocalDateTime.now();
+        long untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        executor.scheduleAtFixedRate(() -> {
+            List<LotAllocation> discarded = sweep(LocalDate.now());
+            if (!discarded.isEmpty()) {
+                report.accept(discarded);
+            }
+        }, untilMidnight, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package objects;
+
+// File formats the hospital exporter writes, always gzip compressed.
+public enum ExportFormat {
+    CSV(".csv.gz"),
+    JSON_LINES(".jsonl.gz");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    // Getters
+    public String getExtension() {
+        return extension;
+    }
+}
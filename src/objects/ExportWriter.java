@@ -0,0 +1,159 @@
+package objects;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes rows field by field straight to the output, so exporting an object costs no
+// intermediate row object or list. CSV gets a header line and quotes only when needed;
+// JSON lines gets one flat object per line.
+public class ExportWriter implements Closeable {
+    private final Writer out;
+    private final ExportFormat format;
+    private final String[] columns;
+    private int column;
+    private long rows;
+
+    public ExportWriter(Writer out, ExportFormat format, String... columns) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.columns = columns;
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeCsv(columns[i]);
+            }
+            out.write('\n');
+        }
+    }
+
+    // Getters
+    public long getRows() {
+        return rows;
+    }
+
+    // Methods
+    public ExportWriter value(String value) throws IOException {
+        beginField();
+        if (format == ExportFormat.CSV) {
+            if (value != null) {
+                writeCsv(value);
+            }
+        } else if (value == null) {
+            out.write("null");
+        } else {
+            writeJsonString(value);
+        }
+        column++;
+        return this;
+    }
+
+    public ExportWriter value(Object value) throws IOException {
+        return value(value == null ? null : value.toString());
+    }
+
+    public ExportWriter value(long value) throws IOException {
+        beginField();
+        out.write(Long.toString(value));
+        column++;
+        return this;
+    }
+
+    public ExportWriter value(double value) throws IOException {
+        beginField();
+        out.write(Double.toString(value));
+        column++;
+        return this;
+    }
+
+    public ExportWriter value(boolean value) throws IOException {
+        beginField();
+        out.write(value ? "true" : "false");
+        column++;
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        if (column != columns.length) {
+            throw new IllegalStateException("Row has " + column + " values, expected " + columns.length + ".");
+        }
+        out.write(format == ExportFormat.CSV ? "\n" : "}\n");
+        column = 0;
+        rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void beginField() throws IOException {
+        if (column >= columns.length) {
+            throw new IllegalStateException("Row has more values than columns.");
+        }
+        if (format == ExportFormat.CSV) {
+            if (column > 0) {
+                out.write(',');
+            }
+            return;
+        }
+        out.write(column == 0 ? "{" : ",");
+        writeJsonString(columns[column]);
+        out.write(':');
+    }
+
+    private void writeCsv(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private void writeJsonString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                    break;
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,29 @@
+package objects;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+// Stand-in for a real gateway: appends every reminder to a local outbox file.
+public class FileReminderSink implements ReminderSink {
+    private final BufferedWriter out;
+
+    public FileReminderSink(Path file) throws IOException {
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void deliver(Reminder reminder) {
+        try {
+            out.write(LocalDateTime.now() + "\t" + reminder.getPatientId() + "\t" + reminder.getMessage());
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Reminder could not be written: " + e.getMessage());
+        }
+    }
+}
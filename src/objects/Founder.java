@@ -1,38 +1,45 @@
 package objects;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Founder extends Person {
-    public List<Department> departments;
-    public List<Doctor> doctors;
-    public List<Room> rooms;
+    private final DepartmentIndex departments;
+    private final Set<Doctor> doctors;
+    private final List<Room> rooms; // copy on write, getters hand out read-only views
     private double totalRevenue;
     private double totalExpenses;
     private double salary;
-    public List<FinancialTransaction> transactions;
-    public List<HospitalReport> reports;
+    private final List<FinancialTransaction> transactions;
+    private final List<HospitalReport> reports;
 
     public Founder(String id, String firstName, String lastName, int age, char gender,
                   String phoneNumber, String username, String password, double salary) {
         super(id, firstName, lastName, age, gender, phoneNumber, username, password);
-        this.departments = new ArrayList<>();
-        this.doctors = new ArrayList<>();
-        this.rooms = new ArrayList<>();
+        this.departments = new DepartmentIndex();
+        this.doctors = ConcurrentHashMap.newKeySet();
+        this.rooms = new CopyOnWriteArrayList<>();
         this.totalRevenue = 0.0;
         this.totalExpenses = 0.0;
         this.salary = salary;
-        this.transactions = new ArrayList<>();
-        this.reports = new ArrayList<>();
+        this.transactions = new CopyOnWriteArrayList<>();
+        this.reports = new CopyOnWriteArrayList<>();
     }
 
     // Getters
     public List<Department> getDepartments() {
-        return new ArrayList<>(departments);
+        return departments.getDepartments();
     }
 
-    public List<Doctor> getDoctors() {
-        return new ArrayList<>(doctors);
+    public DepartmentIndex getDepartmentIndex() {
+        return departments;
+    }
+
+    public Set<Doctor> getDoctors() {
+        return Collections.unmodifiableSet(doctors);
     }
 
     public double getTotalRevenue() {
@@ -52,15 +59,15 @@ public class Founder extends Person {
     }
 
     public List<FinancialTransaction> getTransactions() {
-        return new ArrayList<>(transactions);
+        return Collections.unmodifiableList(transactions);
     }
 
     public List<HospitalReport> getReports() {
-        return new ArrayList<>(reports);
+        return Collections.unmodifiableList(reports);
     }
 
     public List<Room> getRooms() {
-        return new ArrayList<>(rooms);
+        return Collections.unmodifiableList(rooms);
     }
 
     // Setter
@@ -78,16 +85,24 @@ public class Founder extends Person {
 
 
     // Methods
-    public void createDepartment(String name, Doctor head, String location) {
+    // null when a department with this name already exists
+    public Department createDepartment(String name, Doctor head, String location) {
+        if (departments.findByName(name) != null) {
+            return null;
+        }
         Department department = new Department(name, head, location);
-        departments.add(department);
-        addExpense("Department Setup", 50000.0, "Initial setup cost for " + name);
+        if (!departments.addDepartment(department)) {
+            return null; // created by someone else meanwhile
+        }
+        // booked as an expense by a subscriber, see DomainReactions
+        EventBus.getDefault().publish(EventType.DEPARTMENT_CREATED, department, this, DomainReactions.DEPARTMENT_SETUP_COST);
+        return department;
     }
 
     public void hireDoctor(Doctor doctor, Department department) {
         doctors.add(doctor);
         if (department != null && !doctor.isPrivate()) {
-            department.addDoctor(doctor);
+            departments.assign(doctor, department);
             addExpense("Doctor Salary", doctor.getSalary(), "Monthly salary for Dr. " + doctor.getFullName());
         }
     }
@@ -95,10 +110,7 @@ public class Founder extends Person {
     public void fireDoctor(Doctor doctor) {
         doctors.remove(doctor);
         if (!doctor.isPrivate()) {
-            for (Department dept : departments) {
-                dept.removeDoctor(doctor);
-            } //or directly use doctor.getDepartment = dept // dept.removeDoctor(doctor) but maybe doctor assigned more than one dept.
-            //this brute force method much more explainable but not scalable if our company gets bigger.
+            departments.removeDoctor(doctor); // only visits the departments the doctor is in
         }
     }
 
@@ -120,7 +132,7 @@ public class Founder extends Person {
             totalRevenue,
             totalExpenses,
             getNetIncome(),
-            new ArrayList<>(transactions)
+            transactions // the report keeps its own copy
         );
         reports.add(report);
     }
@@ -0,0 +1,188 @@
+package objects;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Dumps appointments, transactions, prescriptions and reviews to gzip compressed CSV or JSON
+// lines files for analytics. Every dump is one pass over the live, read-only views the
+// domain objects hand out (no copies of lists), writing each object as soon as it is
+// reached. Files are written next to their final name and moved in place when complete, so
+// readers never see half a dump.
+public class HospitalExporter {
+    public static final String DIRECTORY_PROPERTY = "hospital.export.dir"; // set it to get nightly dumps
+    public static final String APPOINTMENTS = "appointments";
+    public static final String TRANSACTIONS = "transactions";
+    public static final String PRESCRIPTIONS = "prescriptions";
+    public static final String REVIEWS = "reviews";
+
+    private interface Dump {
+        void write(ExportWriter writer) throws IOException;
+    }
+
+    private final CredentialStore credentials; // every user, safe to walk while users are added
+    private final Founder founder;
+    private ScheduledExecutorService executor;
+
+    public HospitalExporter(CredentialStore credentials, Founder founder) {
+        this.credentials = credentials;
+        this.founder = founder;
+    }
+
+    // Methods
+    public long exportAppointments(Path file, ExportFormat format) throws IOException {
+        return export(file, format, this::writeAppointments, "appointment_id", "patient_id", "doctor_id",
+                "date_time", "duration_minutes", "status", "cost", "paid");
+    }
+
+    public long exportTransactions(Path file, ExportFormat format) throws IOException {
+        return export(file, format, this::writeTransactions, "type", "amount", "category", "description");
+    }
+
+    public long exportPrescriptions(Path file, ExportFormat format) throws IOException {
+        return export(file, format, this::writePrescriptions, "patient_id", "doctor_id", "medication",
+                "dosage_type", "usage", "issue_date", "notes");
+    }
+
+    public long exportReviews(Path file, ExportFormat format) throws IOException {
+        return export(file, format, this::writeReviews, "doctor_id", "patient_id", "rating", "review_date", "comment");
+    }
+
+    // A full snapshot of every data set, one file each, named after the day it was taken, like
+    // appointments-snapshot-2026-10-19.csv.gz. Rows are not filtered by date. Returns rows per data set.
+    public Map<String, Long> exportAll(Path directory, LocalDate date, ExportFormat format) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Long> rows = new LinkedHashMap<>();
+        rows.put(APPOINTMENTS, exportAppointments(directory.resolve(fileName(APPOINTMENTS, date, format)), format));
+        rows.put(TRANSACTIONS, exportTransactions(directory.resolve(fileName(TRANSACTIONS, date, format)), format));
+        rows.put(PRESCRIPTIONS, exportPrescriptions(directory.resolve(fileName(PRESCRIPTIONS, date, format)), format));
+        rows.put(REVIEWS, exportReviews(directory.resolve(fileName(REVIEWS, date, format)), format));
+        return rows;
+    }
+
+    public static String fileName(String dataSet, LocalDate date, ExportFormat format) {
+        return dataSet + "-snapshot-" + date + format.getExtension();
+    }
+
+    // nightly snapshot into the directory, first one at the coming midnight
+    public synchronized void start(Path directory, ExportFormat format) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hospital-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                exportAll(directory, LocalDate.now(), format); // taken just after midnight, named after the new day
+            } catch (IOException e) {
+                System.err.println("Nightly export failed: " + e.getMessage());
+            }
+        }, delay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private long export(Path file, ExportFormat format, Dump dump, String... columns) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long rows;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024), StandardCharsets.UTF_8), 64 * 1024);
+             ExportWriter writer = new ExportWriter(out, format, columns)) {
+            dump.write(writer);
+            rows = writer.getRows();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    // every appointment is on exactly one doctor's books
+    private void writeAppointments(ExportWriter writer) throws IOException {
+        for (Person user : credentials.getUsers()) {
+            if (!(user instanceof Doctor)) {
+                continue;
+            }
+            for (Appointment appointment : ((Doctor) user).getAppointments()) {
+                writer.value(appointment.getAppointmentId())
+                        .value(appointment.getPatient().getId())
+                        .value(user.getId())
+                        .value(appointment.getDateTime())
+                        .value(appointment.getDurationMinutes())
+                        .value(appointment.getStatus())
+                        .value(appointment.getCost())
+                        .value(appointment.isPaid())
+                        .endRow();
+            }
+        }
+    }
+
+    private void writeTransactions(ExportWriter writer) throws IOException {
+        for (FinancialTransaction transaction : founder.getTransactions()) {
+            writer.value(transaction.getType())
+                    .value(transaction.getAmount())
+                    .value(transaction.getCategory())
+                    .value(transaction.getDescription())
+                    .endRow();
+        }
+    }
+
+    private void writePrescriptions(ExportWriter writer) throws IOException {
+        for (Person user : credentials.getUsers()) {
+            if (!(user instanceof Patient)) {
+                continue;
+            }
+            for (Prescription prescription : ((Patient) user).getPrescriptions()) {
+                writer.value(user.getId())
+                        .value(prescription.getDoctor() == null ? null : prescription.getDoctor().getId())
+                        .value(prescription.getMedication())
+                        .value(prescription.getDosageType())
+                        .value(prescription.getUsage())
+                        .value(prescription.getIssueDate())
+                        .value(prescription.getNotes())
+                        .endRow();
+            }
+        }
+    }
+
+    private void writeReviews(ExportWriter writer) throws IOException {
+        for (Person user : credentials.getUsers()) {
+            if (!(user instanceof Doctor)) {
+                continue;
+            }
+            for (Review review : ((Doctor) user).getReviews()) {
+                writer.value(user.getId())
+                        .value(review.getReviewer().getId())
+                        .value(review.getRating())
+                        .value(review.getReviewDate())
+                        .value(review.getComment())
+                        .endRow();
+            }
+        }
+    }
+}
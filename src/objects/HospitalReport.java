@@ -1,6 +1,7 @@
 package objects;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class HospitalReport {
@@ -10,7 +11,7 @@ public class HospitalReport {
     private double totalRevenue;
     private double totalExpenses;
     private double netIncome;
-    public List<FinancialTransaction> transactions;
+    private final List<FinancialTransaction> transactions; // fixed when the report is made
 
     public HospitalReport(String title, int departmentCount, int doctorCount,
                          double totalRevenue, double totalExpenses, double netIncome,
@@ -21,7 +22,7 @@ public class HospitalReport {
         this.totalRevenue = totalRevenue;
         this.totalExpenses = totalExpenses;
         this.netIncome = netIncome;
-        this.transactions = new ArrayList<>(transactions);
+        this.transactions = Collections.unmodifiableList(new ArrayList<>(transactions));
     }
 
     public String getTitle() {
@@ -48,6 +49,10 @@ public class HospitalReport {
         return netIncome;
     }
 
+    public List<FinancialTransaction> getTransactions() {
+        return transactions;
+    }
+
     public String getReportSummary() {
         return "Report: " + title + "\n" +
                 "Departments: " + departmentCount + "\n" +
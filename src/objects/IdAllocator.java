@@ -0,0 +1,152 @@
+package objects;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out unique 64 bit ids for every entity. An id is (milliseconds since 2025 << 12),
+// bumped forward when more than 4096 are issued in one millisecond, so ids sort roughly by
+// creation time. Each thread takes a block of ids with one CAS and then hands them out
+// with no synchronization at all; ids are therefore time ordered per block, not strictly.
+//
+// With -Dhospital.ids.file=<path> the allocator writes a high-water mark a little ahead of
+// the ids it has issued, and starts above it after a restart, so ids are never reused even
+// if the clock goes back. Without the property nothing is written.
+public class IdAllocator {
+    public static final String FILE_PROPERTY = "hospital.ids.file";
+    private static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int SEQUENCE_BITS = 12;
+    private static final int BLOCK_SIZE = 32;
+    private static final long PERSIST_AHEAD = 1L << 16; // ids issued between two writes of the mark
+
+    private static final IdAllocator DEFAULT = createDefault();
+
+    private static class Block {
+        private long next;
+        private long end; // exclusive
+    }
+
+    private final AtomicLong next;
+    private final Path stateFile; // null when not persisted
+    private volatile long persistedMark;
+    private final ThreadLocal<Block> blocks;
+
+    public IdAllocator() {
+        this(null);
+    }
+
+    public IdAllocator(Path stateFile) {
+        this.stateFile = stateFile;
+        this.persistedMark = stateFile == null ? Long.MAX_VALUE : readMark(stateFile);
+        long start = timeFloor();
+        if (stateFile != null) {
+            start = Math.max(start, persistedMark);
+        }
+        this.next = new AtomicLong(start);
+        this.blocks = ThreadLocal.withInitial(Block::new);
+    }
+
+    // Getters
+    public static IdAllocator getDefault() {
+        return DEFAULT;
+    }
+
+    // Methods
+    public long nextLong() {
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            reserveBlock(block);
+        }
+        return block.next++;
+    }
+
+    // prefix + the id in base 36, e.g. "P" + "2KX0F1C9DS"
+    public String nextId(String prefix) {
+        return prefix + encode(nextLong());
+    }
+
+    public static String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Ids are never negative.");
+        }
+        return Long.toString(id, 36).toUpperCase(Locale.ROOT);
+    }
+
+    public static long decode(String encoded) {
+        try {
+            return Long.parseLong(encoded, 36);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an encoded id: " + encoded);
+        }
+    }
+
+    // the numeric id behind an id made by nextId(prefix), e.g. for use as an index key
+    public static long decode(String id, String prefix) {
+        if (!id.startsWith(prefix)) {
+            throw new IllegalArgumentException("Id " + id + " does not start with " + prefix);
+        }
+        return decode(id.substring(prefix.length()));
+    }
+
+    private void reserveBlock(Block block) {
+        long start;
+        long end;
+        while (true) {
+            long current = next.get();
+            start = Math.max(current, timeFloor());
+            end = start + BLOCK_SIZE;
+            if (next.compareAndSet(current, end)) {
+                break;
+            }
+        }
+        if (end > persistedMark) {
+            persist(end);
+        }
+        block.next = start;
+        block.end = end;
+    }
+
+    // the mark must be on disk before any id below it is handed out
+    private synchronized void persist(long end) {
+        if (end <= persistedMark) {
+            return; // another thread already wrote a mark above ours
+        }
+        long mark = end + PERSIST_AHEAD;
+        try {
+            Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            Files.write(temp, Long.toString(mark).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the id high-water mark to " + stateFile, e);
+        }
+        persistedMark = mark;
+    }
+
+    private static long readMark(Path stateFile) {
+        if (!Files.exists(stateFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(stateFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the id high-water mark from " + stateFile, e);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Corrupt id high-water mark in " + stateFile);
+        }
+    }
+
+    private static long timeFloor() {
+        return (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+    }
+
+    private static IdAllocator createDefault() {
+        String file = System.getProperty(FILE_PROPERTY);
+        return new IdAllocator(file == null || file.isBlank() ? null : Paths.get(file));
+    }
+}
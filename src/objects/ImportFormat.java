@@ -0,0 +1,243 @@
+package objects;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// File formats the bulk importer reads. The reading thread only cuts the input into records
+// (a CSV record can span lines inside quotes); turning a record into named fields is done
+// by the import workers, so parsing runs in parallel.
+public enum ImportFormat {
+    CSV,
+    JSON_LINES;
+
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        // not .json, that is usually one document (an array), which is not read line by line
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Unknown import format: " + file.getFileName());
+    }
+
+    // Getters
+    public boolean hasHeader() {
+        return this == CSV;
+    }
+
+    // Methods
+    // Whether a line opens or closes a quoted value that goes on to the next line (an odd
+    // number of quotes in CSV). The reader keeps the state line by line, so each line is
+    // scanned once however long the record gets.
+    boolean flipsQuote(String line) {
+        if (this != CSV) {
+            return false;
+        }
+        boolean flips = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                flips = !flips; // an escaped "" flips twice
+            }
+        }
+        return flips;
+    }
+
+    Map<String, String> parse(String record, String[] header) {
+        if (this == CSV) {
+            List<String> values = splitCsv(record);
+            if (values.size() != header.length) {
+                throw new IllegalArgumentException("Expected " + header.length + " columns but found " + values.size() + ".");
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                fields.put(header[i], values.get(i));
+            }
+            return fields;
+        }
+        return new JsonObjectParser(record).parse();
+    }
+
+    static String[] parseHeader(String record) {
+        List<String> names = splitCsv(record);
+        String[] header = new String[names.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = names.get(i).trim().toLowerCase(Locale.ROOT);
+        }
+        return header;
+    }
+
+    static List<String> splitCsv(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value.");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    // one flat JSON object per line; numbers, booleans and strings come back as text
+    private static class JsonObjectParser {
+        private final String text;
+        private int pos;
+
+        private JsonObjectParser(String text) {
+            this.text = text;
+        }
+
+        private Map<String, String> parse() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            expect('{');
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipSpace();
+                    String key = readString().toLowerCase(Locale.ROOT);
+                    expect(':');
+                    fields.put(key, readValue());
+                    skipSpace();
+                    char c = next();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw error("Expected , or }");
+                    }
+                }
+            }
+            skipSpace();
+            if (pos != text.length()) {
+                throw error("Unexpected text after the object");
+            }
+            return fields;
+        }
+
+        private String readValue() {
+            skipSpace();
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("Missing value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Bad unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        value.append(escaped); // \" \\ \/
+                        break;
+                }
+            }
+        }
+
+        private void expect(char c) {
+            skipSpace();
+            if (next() != c) {
+                throw error("Expected " + c);
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of line");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at column " + (pos + 1) + ".");
+        }
+    }
+}
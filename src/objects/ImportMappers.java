@@ -0,0 +1,139 @@
+package objects;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Row mappers for the bulk importer, one per kind of record. Column names are lower case;
+// ids are generated when the id column is left out. Validation is the constructors' own,
+// plus the checks a console form would have done while asking for each value.
+public final class ImportMappers {
+    private ImportMappers() {
+    }
+
+    // Accounts come with either a password_hash column (a PasswordHasher hash, kept as it is) or a
+    // plain password column. Hashing a plain password is deliberately slow (PBKDF2, about 0.1 s
+    // of CPU), so files with more than a few thousand accounts should carry hashes.
+
+    // id, first_name, last_name, age, gender, phone, username, password or password_hash,
+    // has_insurance, insurance_provider
+    public static RowMapper<Patient> patients() {
+        return row -> new Patient(
+                id(row, Patient::generateNewPatientId),
+                row.require("first_name"),
+                row.require("last_name"),
+                row.getInt("age"),
+                row.getChar("gender"),
+                row.require("phone"),
+                row.require("username"),
+                password(row),
+                hasPasswordHash(row),
+                row.getBoolean("has_insurance"),
+                row.get("insurance_provider", ""));
+    }
+
+    // id, first_name, last_name, age, gender, phone, username, password or password_hash, private,
+    // department, specialty, office, salary, fee (private doctors only)
+    public static RowMapper<Doctor> doctors() {
+        return row -> {
+            boolean isPrivate = row.getBoolean("private");
+            int age = row.getInt("age");
+            if (age <= 0) {
+                throw new IllegalArgumentException("age must be positive: " + age);
+            }
+            double salary = isPrivate ? 0.0 : row.getDouble("salary", 0.0);
+            if (salary < 0) {
+                throw new IllegalArgumentException("salary cannot be negative: " + salary);
+            }
+            Doctor doctor = new Doctor(
+                    id(row, Doctor::generateNewDoctorId),
+                    row.require("first_name"),
+                    row.require("last_name"),
+                    age,
+                    row.getChar("gender"),
+                    row.require("phone"),
+                    row.require("username"),
+                    password(row),
+                    hasPasswordHash(row),
+                    isPrivate ? "Private Practice" : row.require("department"),
+                    row.require("specialty"),
+                    row.require("office"),
+                    isPrivate,
+                    salary);
+            if (isPrivate) {
+                double fee = row.getDouble("fee", 0.0);
+                if (fee < 0) {
+                    throw new IllegalArgumentException("fee cannot be negative: " + fee);
+                }
+                doctor.setPrivateFee(fee);
+            }
+            doctor.setStaticSchedule(new StaticSchedule());
+            return doctor;
+        };
+    }
+
+    // id, patient_id, doctor_id, date_time, status (Scheduled, Completed or Canceled), cost.
+    // The lookup finds already registered people by id and must be safe to call from many threads.
+    public static RowMapper<Appointment> appointments(Function<String, Person> lookup) {
+        return row -> {
+            String patientId = row.require("patient_id");
+            String doctorId = row.require("doctor_id");
+            Person patient = lookup.apply(patientId);
+            if (!(patient instanceof Patient)) {
+                throw new IllegalArgumentException("Unknown patient " + patientId + ".");
+            }
+            Person doctor = lookup.apply(doctorId);
+            if (!(doctor instanceof Doctor)) {
+                throw new IllegalArgumentException("Unknown doctor " + doctorId + ".");
+            }
+            Appointment appointment = new Appointment(
+                    id(row, Appointment::generateNewAppointmentId),
+                    (Patient) patient,
+                    (Doctor) doctor,
+                    row.getDateTime("date_time"));
+            String status = row.get("status", "Scheduled");
+            if (!status.equals("Scheduled") && !status.equals("Completed") && !status.equals("Canceled")) {
+                throw new IllegalArgumentException("Unknown status " + status + ".");
+            }
+            appointment.restoreStatus(status);
+            double cost = row.getDouble("cost", appointment.getCost());
+            if (cost < 0) {
+                throw new IllegalArgumentException("cost cannot be negative: " + cost);
+            }
+            appointment.setCost(cost);
+            return appointment;
+        };
+    }
+
+    // id, name, category, quantity, minimum_quantity, unit_price, supplier, location
+    public static RowMapper<Inventory> inventory() {
+        return row -> {
+            int quantity = row.getInt("quantity");
+            int minimum = row.getInt("minimum_quantity");
+            double price = row.getDouble("unit_price", 0.0);
+            if (quantity < 0 || minimum < 0 || price < 0) {
+                throw new IllegalArgumentException("Quantity, minimum quantity and unit price cannot be negative.");
+            }
+            return new Inventory(row.require("id"), row.require("name"), row.require("category"),
+                    quantity, minimum, price, row.get("supplier", ""), row.require("location"));
+        };
+    }
+
+    // name, type, capacity, hourly_rate, equipment
+    public static RowMapper<Room> rooms() {
+        return row -> new Room(row.require("name"), row.require("type"), row.getInt("capacity"),
+                row.getDouble("hourly_rate", 0.0), row.get("equipment", ""));
+    }
+
+    private static boolean hasPasswordHash(ImportRow row) {
+        return !row.get("password_hash", "").isEmpty();
+    }
+
+    private static String password(ImportRow row) {
+        return hasPasswordHash(row) ? row.require("password_hash") : row.require("password");
+    }
+
+    private static String id(ImportRow row, Supplier<String> generator) {
+        String id = row.get("id");
+        return id != null ? id : generator.get();
+    }
+}
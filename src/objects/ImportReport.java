@@ -0,0 +1,95 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// What an import did: how many rows were read, imported and rejected, and why. Only the
+// first MAX_ERRORS rejections are kept so a bad file of millions of rows stays small.
+public class ImportReport {
+    public static final int MAX_ERRORS = 1000;
+
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        private RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + message;
+        }
+    }
+
+    private final String source;
+    private long rows;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors;
+    private long elapsedMillis;
+
+    ImportReport(String source) {
+        this.source = source;
+        this.errors = new ArrayList<>();
+    }
+
+    // Getters
+    public String getSource() {
+        return source;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    // the first MAX_ERRORS rejected rows, in file order
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // Methods
+    void imported() {
+        rows++;
+        imported++;
+    }
+
+    void failed(long line, String message) {
+        rows++;
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String GeneralInfo() {
+        return "Import of " + source + ": " + rows + " rows, " + imported + " imported, " + failed + " failed"
+                + " (" + elapsedMillis + " ms)";
+    }
+}
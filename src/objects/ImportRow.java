@@ -0,0 +1,100 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+// One record of an import file, fields by lower case column name. The typed getters throw
+// IllegalArgumentException with the column name, which ends up in the import report.
+public class ImportRow {
+    private final long line;
+    private final Map<String, String> fields;
+
+    ImportRow(long line, Map<String, String> fields) {
+        this.line = line;
+        this.fields = fields;
+    }
+
+    // Getters
+    public long getLine() {
+        return line;
+    }
+
+    // the trimmed value, or null when the column is missing or blank
+    public String get(String column) {
+        String value = fields.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public String get(String column, String defaultValue) {
+        String value = get(column);
+        return value == null ? defaultValue : value;
+    }
+
+    public String require(String column) {
+        String value = get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column + ".");
+        }
+        return value;
+    }
+
+    public int getInt(String column) {
+        String value = require(column);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a whole number: " + value);
+        }
+    }
+
+    public double getDouble(String column, double defaultValue) {
+        String value = get(column);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    public boolean getBoolean(String column) {
+        String value = get(column);
+        if (value == null) {
+            return false;
+        }
+        switch (value.toLowerCase()) {
+            case "true":
+            case "yes":
+            case "y":
+            case "1":
+                return true;
+            case "false":
+            case "no":
+            case "n":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException(column + " is not yes or no: " + value);
+        }
+    }
+
+    public char getChar(String column) {
+        return Character.toUpperCase(require(column).charAt(0));
+    }
+
+    public LocalDateTime getDateTime(String column) {
+        String value = require(column);
+        try {
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " is not a date and time (yyyy-MM-dd HH:mm): " + value);
+        }
+    }
+}
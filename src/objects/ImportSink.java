@@ -0,0 +1,7 @@
+package objects;
+
+// Receives the mapped objects of an import, one at a time on the importing thread and in
+// file order. Throwing IllegalArgumentException (e.g. a taken username) fails just that row.
+public interface ImportSink<T> {
+    void accept(T item);
+}
@@ -0,0 +1,172 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Binary min-heap that also remembers where every element sits, so the key of an element
+// can be changed or the element removed in O(log n) instead of searching the whole heap.
+// Not thread safe, owners synchronize around it.
+public class IndexedMinHeap<T> {
+    private final List<T> elements;
+    private final List<Long> keys;
+    private final Map<T, Integer> positions;
+
+    public IndexedMinHeap() {
+        this.elements = new ArrayList<>();
+        this.keys = new ArrayList<>();
+        this.positions = new HashMap<>();
+    }
+
+    // Getters
+    public int size() {
+        return elements.size();
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public boolean contains(T element) {
+        return positions.containsKey(element);
+    }
+
+    public long getKey(T element) {
+        Integer index = positions.get(element);
+        if (index == null) {
+            throw new IllegalArgumentException("Element is not in the heap.");
+        }
+        return keys.get(index);
+    }
+
+    public T peek() {
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    // Methods
+    // adds the element, or changes its key if it is already in the heap
+    public void put(T element, long key) {
+        Integer index = positions.get(element);
+        if (index == null) {
+            elements.add(element);
+            keys.add(key);
+            positions.put(element, elements.size() - 1);
+            siftUp(elements.size() - 1);
+        } else {
+            long old = keys.get(index);
+            keys.set(index, key);
+            if (key < old) {
+                siftUp(index);
+            } else if (key > old) {
+                siftDown(index);
+            }
+        }
+    }
+
+    public T poll() {
+        if (elements.isEmpty()) {
+            return null;
+        }
+        T top = elements.get(0);
+        remove(top);
+        return top;
+    }
+
+    public boolean remove(T element) {
+        Integer index = positions.remove(element);
+        if (index == null) {
+            return false;
+        }
+        int last = elements.size() - 1;
+        if (index != last) {
+            elements.set(index, elements.get(last));
+            keys.set(index, keys.get(last));
+            positions.put(elements.get(index), index);
+        }
+        elements.remove(last);
+        keys.remove(last);
+        if (index < elements.size()) {
+            siftDown(index);
+            siftUp(index);
+        }
+        return true;
+    }
+
+    // The n smallest elements in key order. Only walks the top of the heap (a node can only be
+    // in the answer if its parent is), so this is O(n log n) no matter how big the heap is.
+    public List<T> smallest(int n) {
+        return walk(n, Long.MAX_VALUE);
+    }
+
+    // every element whose key is <= maxKey, in key order, same walk as smallest()
+    public List<T> atMost(long maxKey) {
+        return walk(Integer.MAX_VALUE, maxKey);
+    }
+
+    private List<T> walk(int limit, long maxKey) {
+        List<T> result = new ArrayList<>();
+        if (limit <= 0 || elements.isEmpty()) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> Long.compare(keys.get(a), keys.get(b)));
+        frontier.add(0);
+        while (!frontier.isEmpty() && result.size() < limit) {
+            int index = frontier.poll();
+            if (keys.get(index) > maxKey) {
+                break; // everything left in the frontier is bigger
+            }
+            result.add(elements.get(index));
+            int left = 2 * index + 1;
+            if (left < elements.size()) {
+                frontier.add(left);
+            }
+            if (left + 1 < elements.size()) {
+                frontier.add(left + 1);
+            }
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (keys.get(index) >= keys.get(parent)) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int size = elements.size();
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            if (left + 1 < size && keys.get(left + 1) < keys.get(left)) {
+                smallest = left + 1;
+            }
+            if (keys.get(index) <= keys.get(smallest)) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        T element = elements.get(a);
+        elements.set(a, elements.get(b));
+        elements.set(b, element);
+        Long key = keys.get(a);
+        keys.set(a, keys.get(b));
+        keys.set(b, key);
+        positions.put(elements.get(a), a);
+        positions.put(elements.get(b), b);
+    }
+}
@@ -0,0 +1,207 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Balanced (AVL) search tree of half-open intervals [start, end). Every node also stores the
+// largest end in its subtree, which lets an overlap query skip whole subtrees, so finding
+// the k intervals that overlap a range costs O(log n + k). Not thread safe.
+public class IntervalTree<T> {
+    public static class Entry<T> {
+        private final long start;
+        private final long end;
+        private final long sequence; // makes equal intervals distinct keys
+        private final T value;
+
+        private Entry(long start, long end, long sequence, T value) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static class Node<T> {
+        private Entry<T> entry;
+        private Node<T> left;
+        private Node<T> right;
+        private int height;
+        private long maxEnd;
+
+        private Node(Entry<T> entry) {
+            this.entry = entry;
+            this.height = 1;
+            this.maxEnd = entry.end;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+    private long nextSequence;
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Methods
+    public Entry<T> insert(long start, long end, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start.");
+        }
+        Entry<T> entry = new Entry<>(start, end, nextSequence++, value);
+        root = insert(root, entry);
+        size++;
+        return entry;
+    }
+
+    public boolean remove(Entry<T> entry) {
+        int before = size;
+        root = remove(root, entry);
+        return size < before;
+    }
+
+    // all intervals overlapping [start, end), ordered by start
+    public List<Entry<T>> overlapping(long start, long end) {
+        List<Entry<T>> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    public List<Entry<T>> entries() {
+        List<Entry<T>> result = new ArrayList<>();
+        collect(root, Long.MIN_VALUE, Long.MAX_VALUE, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, long start, long end, List<Entry<T>> result) {
+        if (node == null || node.maxEnd <= start) {
+            return; // nothing in this subtree ends after the range begins
+        }
+        collect(node.left, start, end, result);
+        if (node.entry.start < end) {
+            if (node.entry.end > start) {
+                result.add(node.entry);
+            }
+            collect(node.right, start, end, result);
+        } // else everything on the right starts too late as well
+    }
+
+    private static <T> int compare(Entry<T> a, Entry<T> b) {
+        if (a.start != b.start) {
+            return Long.compare(a.start, b.start);
+        }
+        if (a.end != b.end) {
+            return Long.compare(a.end, b.end);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private Node<T> insert(Node<T> node, Entry<T> entry) {
+        if (node == null) {
+            return new Node<>(entry);
+        }
+        if (compare(entry, node.entry) < 0) {
+            node.left = insert(node.left, entry);
+        } else {
+            node.right = insert(node.right, entry);
+        }
+        return balance(node);
+    }
+
+    private Node<T> remove(Node<T> node, Entry<T> entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(entry, node.entry);
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, entry);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.entry = successor.entry;
+            size++; // the successor is removed below and counted there
+            node.right = remove(node.right, successor.entry);
+        }
+        return balance(node);
+    }
+
+    private Node<T> balance(Node<T> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.entry.end;
+        if (node.left != null) {
+            max = Math.max(max, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            max = Math.max(max, node.right.maxEnd);
+        }
+        node.maxEnd = max;
+    }
+
+    private int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -1,31 +1,47 @@
 package objects;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntBiFunction;
 
 public class Inventory {
     private String itemId;
     private String itemName;
     private String category;
-    private int quantity;
+    private final AtomicInteger quantity; // available on the shelf
+    private final AtomicInteger reserved; // taken off the shelf but not yet handed out
     private int minimumQuantity;
     private double unitPrice;
     private String supplier;
-    private LocalDateTime lastRestocked;
+    private volatile LocalDateTime lastRestocked;
     private String location;
     private String notes;
+    private final List<InventoryListener> listeners;
+    private final ConsumptionHistory consumption;
+    private final PriorityQueue<StockLot> lots; // first expiring on top, guarded by itself
 
     public Inventory(String itemId, String itemName, String category, int quantity,
                     int minimumQuantity, double unitPrice, String supplier, String location) {
         this.itemId = itemId;
         this.itemName = itemName;
         this.category = category;
-        this.quantity = quantity;
+        this.quantity = new AtomicInteger(quantity);
+        this.reserved = new AtomicInteger(0);
         this.minimumQuantity = minimumQuantity;
         this.unitPrice = unitPrice;
         this.supplier = supplier;
         this.lastRestocked = LocalDateTime.now();
         this.location = location;
         this.notes = "";
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.consumption = new ConsumptionHistory();
+        this.lots = new PriorityQueue<>();
     }
 
     // Getters
@@ -42,7 +58,11 @@ public class Inventory {
     }
 
     public int getQuantity() {
-        return quantity;
+        return quantity.get();
+    }
+
+    public int getReservedQuantity() {
+        return reserved.get();
     }
 
     public int getMinimumQuantity() {
@@ -69,17 +89,259 @@ public class Inventory {
         return notes;
     }
 
+    public ConsumptionHistory getConsumptionHistory() {
+        return consumption;
+    }
+
+    // lots with stock left, first expiring first
+    public List<StockLot> getLots() {
+        List<StockLot> result = new ArrayList<>();
+        synchronized (lots) {
+            for (StockLot lot : lots) {
+                if (lot.getRemaining() > 0) {
+                    result.add(lot);
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
     // Methods
-    public void addStock(int amount) {
-        this.quantity += amount;
+    public void addListener(InventoryListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(InventoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void stockChanged() {
+        for (InventoryListener listener : listeners) {
+            listener.stockChanged(this);
+        }
+    }
+
+    // All stock changes are compare-and-set loops on the counters, so many terminals can
+    // withdraw at the same time without a lock and without losing updates.
+    public StockResult addStock(int amount) {
+        if (amount <= 0) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        int now = quantity.addAndGet(amount);
+        this.lastRestocked = LocalDateTime.now();
+        stockChanged();
+        EventBus.getDefault().publish(EventType.STOCK_ADDED, this, null, amount);
+        return StockResult.success(itemId, amount, now);
+    }
+
+    public StockResult removeStock(int amount) {
+        return take(amount, true);
+    }
+
+    // stock leaving this location without being used, e.g. moved to another location
+    StockResult moveOut(int amount) {
+        return take(amount, false);
+    }
+
+    private StockResult take(int amount, boolean consumed) {
+        if (amount <= 0) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        while (true) {
+            int current = quantity.get();
+            if (current < amount) {
+                return StockResult.insufficient(itemId, amount, current);
+            }
+            if (quantity.compareAndSet(current, current - amount)) {
+                List<LotAllocation> picked = drawFromLots(amount);
+                if (consumed) {
+                    consumption.record(LocalDate.now(), amount);
+                }
+                stockChanged();
+                if (consumed) {
+                    EventBus.getDefault().publish(EventType.STOCK_REMOVED, this, null, amount);
+                }
+                return StockResult.success(itemId, amount, current - amount, picked);
+            }
+        }
+    }
+
+    // Lots: stock received with a lot id and expiry date. Whatever leaves the shelf is taken from
+    // the first expiring lot first (FEFO); stock added with addStock has no lot and is used last.
+    // A reservation holds lot units the same way, so each lot knows how much of it is reserved.
+    public StockResult receiveLot(String lotId, LocalDate expiryDate, int amount) {
+        if (amount <= 0) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        StockLot lot = new StockLot(lotId, this, expiryDate, amount);
+        synchronized (lots) {
+            lots.add(lot);
+        }
+        int now = quantity.addAndGet(amount);
         this.lastRestocked = LocalDateTime.now();
+        for (InventoryListener listener : listeners) {
+            listener.lotReceived(this, lot);
+        }
+        stockChanged();
+        EventBus.getDefault().publish(EventType.STOCK_ADDED, this, null, amount);
+        return StockResult.success(itemId, amount, now);
+    }
+
+    // Throws away what is left of an expired lot on the shelf and returns that amount. Units of
+    // the lot that are reserved stay with the reservation; if it is released they are thrown
+    // away then instead of going back on the shelf.
+    int expireLot(StockLot lot) {
+        int discarded;
+        synchronized (lots) {
+            lot.setDiscarded(true);
+            discarded = lot.getRemaining() - lot.getReserved();
+            if (discarded <= 0) {
+                return 0;
+            }
+            lot.setRemaining(lot.getReserved());
+            if (lot.getRemaining() == 0) {
+                lots.remove(lot);
+            }
+        }
+        while (true) {
+            int current = quantity.get();
+            int removed = Math.min(current, discarded);
+            if (quantity.compareAndSet(current, current - removed)) {
+                if (removed > 0) {
+                    stockChanged();
+                }
+                return removed;
+            }
+        }
+    }
+
+    // units of lots on the shelf leave it
+    private List<LotAllocation> drawFromLots(int amount) {
+        return walkLots(amount, (lot, left) -> {
+            int take = Math.min(left, lot.getRemaining() - lot.getReserved());
+            lot.setRemaining(lot.getRemaining() - take);
+            return take;
+        });
+    }
+
+    // units of lots on the shelf become reserved
+    private void reserveFromLots(int amount) {
+        walkLots(amount, (lot, left) -> {
+            int take = Math.min(left, lot.getRemaining() - lot.getReserved());
+            lot.setReserved(lot.getReserved() + take);
+            return take;
+        });
+    }
+
+    // reserved units of lots are handed out
+    private List<LotAllocation> commitFromLots(int amount) {
+        return walkLots(amount, (lot, left) -> {
+            int take = Math.min(left, lot.getReserved());
+            lot.setReserved(lot.getReserved() - take);
+            lot.setRemaining(lot.getRemaining() - take);
+            return take;
+        });
+    }
+
+    // Reserved units of lots go back on the shelf, except those of discarded lots, which are
+    // thrown away. Returns how many were thrown away.
+    private int releaseFromLots(int amount) {
+        List<LotAllocation> released = walkLots(amount, (lot, left) -> {
+            int take = Math.min(left, lot.getReserved());
+            lot.setReserved(lot.getReserved() - take);
+            if (lot.isDiscarded()) {
+                lot.setRemaining(lot.getRemaining() - take);
+            }
+            return take;
+        });
+        int thrownAway = 0;
+        for (LotAllocation allocation : released) {
+            if (allocation.getLot().isDiscarded()) {
+                thrownAway += allocation.getAmount();
+            }
+        }
+        return thrownAway;
+    }
+
+    // Visits the lots first expiring first; step takes what it can from a lot, up to what is still
+    // needed, and returns how much that was. Stops once amount is covered and drops lots left
+    // with nothing. Anything not covered was stock without a lot.
+    private List<LotAllocation> walkLots(int amount, ToIntBiFunction<StockLot, Integer> step) {
+        synchronized (lots) {
+            if (lots.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<LotAllocation> picked = new ArrayList<>();
+            List<StockLot> visited = new ArrayList<>();
+            int left = amount;
+            while (left > 0 && !lots.isEmpty()) {
+                StockLot lot = lots.poll();
+                int taken = step.applyAsInt(lot, left);
+                if (taken > 0) {
+                    picked.add(new LotAllocation(lot, taken));
+                    left -= taken;
+                }
+                if (lot.getRemaining() > 0) {
+                    visited.add(lot);
+                }
+            }
+            lots.addAll(visited);
+            return picked;
+        }
+    }
+
+    // Reserve -> commit/release: the amount leaves the shelf right away so nobody else can take it,
+    // and is either handed out (commit) or put back (release) later.
+    public StockResult reserveStock(int amount) {
+        if (amount <= 0) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        while (true) {
+            int current = quantity.get();
+            if (current < amount) {
+                return StockResult.insufficient(itemId, amount, current);
+            }
+            if (quantity.compareAndSet(current, current - amount)) {
+                reserveFromLots(amount);
+                reserved.addAndGet(amount);
+                stockChanged();
+                return StockResult.success(itemId, amount, current - amount);
+            }
+        }
+    }
+
+    public StockResult commitReservation(int amount) {
+        if (amount <= 0 || !takeReserved(amount)) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        List<LotAllocation> picked = commitFromLots(amount);
+        consumption.record(LocalDate.now(), amount); // committed stock is handed out, so it counts as used
+        EventBus.getDefault().publish(EventType.STOCK_REMOVED, this, null, amount);
+        return StockResult.success(itemId, amount, quantity.get(), picked);
+    }
+
+    public StockResult releaseReservation(int amount) {
+        if (amount <= 0 || !takeReserved(amount)) {
+            return StockResult.invalid(itemId, amount, quantity.get());
+        }
+        int thrownAway = releaseFromLots(amount);
+        int now = quantity.addAndGet(amount - thrownAway);
+        stockChanged();
+        return StockResult.success(itemId, amount, now);
     }
 
-    public void removeStock(int amount) {
-        if (this.quantity >= amount) {
-            this.quantity -= amount;
-        } else {
-            System.out.println("Insufficient stock available");
+    private boolean takeReserved(int amount) {
+        while (true) {
+            int current = reserved.get();
+            if (current < amount) {
+                return false; // cannot commit or release more than was reserved
+            }
+            if (reserved.compareAndSet(current, current - amount)) {
+                return true;
+            }
         }
     }
 
@@ -87,7 +349,7 @@ public class Inventory {
         return "Inventory ID: " + itemId +
                 ", Name: " + itemName +
                 ", Category: " + category +
-                ", Quantity: " + quantity +
+                ", Quantity: " + quantity.get() +
                 ", Price: $" + unitPrice +
                 ", Location: " + location;
     }
@@ -0,0 +1,11 @@
+package objects;
+
+// Called after every successful stock change of an Inventory item.
+// Runs on the thread that changed the stock, so keep it short.
+public interface InventoryListener {
+    void stockChanged(Inventory item);
+
+    // a new lot was received for the item, most listeners only care about quantities
+    default void lotReceived(Inventory item, StockLot lot) {
+    }
+}
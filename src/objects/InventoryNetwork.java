@@ -0,0 +1,179 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Inventory of the whole hospital, split into one InventoryShard per location.
+// Totals per item across all locations are kept up to date from the items' stock change
+// callbacks, so cross-location views never have to visit every shard.
+public class InventoryNetwork implements InventoryListener {
+    private final ConcurrentMap<String, InventoryShard> shards;
+    private final ConcurrentMap<String, LongAdder> totals; // itemId -> quantity in all locations
+    private final ConcurrentMap<Inventory, AtomicInteger> lastSeen;
+    private final List<Consumer<Inventory>> itemAddedHandlers;
+
+    public InventoryNetwork() {
+        this.shards = new ConcurrentHashMap<>();
+        this.totals = new ConcurrentHashMap<>();
+        this.lastSeen = new ConcurrentHashMap<>();
+        this.itemAddedHandlers = new CopyOnWriteArrayList<>();
+    }
+
+    // Getters
+    public InventoryShard getShard(String location) {
+        return shards.get(location);
+    }
+
+    public List<String> getLocations() {
+        List<String> locations = new ArrayList<>(shards.keySet());
+        Collections.sort(locations);
+        return locations;
+    }
+
+    public Collection<InventoryShard> getShards() {
+        return Collections.unmodifiableCollection(shards.values());
+    }
+
+    public Inventory getItem(String location, String itemId) {
+        InventoryShard shard = shards.get(location);
+        return shard == null ? null : shard.getItem(itemId);
+    }
+
+    // the same item id can be stocked in several locations
+    public List<Inventory> findItems(String itemId) {
+        List<Inventory> found = new ArrayList<>();
+        for (String location : getLocations()) {
+            Inventory item = shards.get(location).getItem(itemId);
+            if (item != null) {
+                found.add(item);
+            }
+        }
+        return found;
+    }
+
+    public List<Inventory> getAllItems() {
+        List<Inventory> all = new ArrayList<>();
+        for (String location : getLocations()) {
+            all.addAll(shards.get(location).getItems());
+        }
+        return all;
+    }
+
+    public boolean isEmpty() {
+        for (InventoryShard shard : shards.values()) {
+            if (shard.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTotalQuantity(String itemId) {
+        LongAdder total = totals.get(itemId);
+        return total == null ? 0 : total.sum();
+    }
+
+    // itemId -> quantity across all locations
+    public Map<String, Long> getTotals() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : totals.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().sum());
+        }
+        return snapshot;
+    }
+
+    // Methods
+    public void onItemAdded(Consumer<Inventory> handler) {
+        itemAddedHandlers.add(handler);
+    }
+
+    public InventoryShard getOrCreateShard(String location) {
+        return shards.computeIfAbsent(location, InventoryShard::new);
+    }
+
+    public Inventory addItem(Inventory item) {
+        Inventory stored = getOrCreateShard(item.getLocation()).addItem(item);
+        if (stored != item) {
+            return stored; // already stocked in that location
+        }
+        lastSeen.put(item, new AtomicInteger(item.getQuantity()));
+        totals.computeIfAbsent(item.getItemId(), id -> new LongAdder()).add(item.getQuantity());
+        item.addListener(this);
+        for (Consumer<Inventory> handler : itemAddedHandlers) {
+            handler.accept(item);
+        }
+        stockChanged(item); // catch anything that changed between reading the quantity and listening
+        return item;
+    }
+
+    @Override
+    public void stockChanged(Inventory item) {
+        AtomicInteger seen = lastSeen.get(item);
+        if (seen == null) {
+            return;
+        }
+        // Reading the quantity and swapping it in happen under the item's own lock, so a callback
+        // that read an older quantity cannot swap it in after a newer one. Each callback then adds
+        // the difference to what the previous one saw, and the differences add up to the change.
+        synchronized (seen) {
+            int now = item.getQuantity();
+            int before = seen.getAndSet(now);
+            if (now != before) {
+                totals.get(item.getItemId()).add(now - before);
+            }
+        }
+    }
+
+    // Moves stock between two locations. Both locations are write locked (in name order, so two
+    // opposite transfers cannot deadlock), so the move is all or nothing and no stock operation
+    // on either location runs in the middle of it.
+    public StockResult transfer(String itemId, String fromLocation, String toLocation, int amount) {
+        InventoryShard from = shards.get(fromLocation);
+        Inventory source = from == null ? null : from.getItem(itemId);
+        if (source == null) {
+            throw new IllegalArgumentException("Item " + itemId + " is not stocked in " + fromLocation + ".");
+        }
+        if (toLocation == null || fromLocation.equals(toLocation)) {
+            throw new IllegalArgumentException("Destination must be a different location.");
+        }
+        InventoryShard to = getOrCreateShard(toLocation);
+
+        InventoryShard first = fromLocation.compareTo(toLocation) < 0 ? from : to;
+        InventoryShard second = first == from ? to : from;
+        first.getLock().writeLock().lock();
+        second.getLock().writeLock().lock();
+        try {
+            Inventory destination = to.getItem(itemId);
+            if (destination == null) {
+                destination = addItem(new Inventory(itemId, source.getItemName(), source.getCategory(), 0,
+                        source.getMinimumQuantity(), source.getUnitPrice(), source.getSupplier(), toLocation));
+            }
+            StockResult removed = source.moveOut(amount); // a transfer is not consumption
+            if (!removed.isSuccess()) {
+                return removed;
+            }
+            int untracked = amount;
+            for (LotAllocation moved : removed.getAllocations()) { // lots keep their id and expiry
+                destination.receiveLot(moved.getLotId(), moved.getExpiryDate(), moved.getAmount());
+                untracked -= moved.getAmount();
+            }
+            if (untracked > 0) {
+                destination.addStock(untracked);
+            }
+            return removed;
+        } finally {
+            second.getLock().writeLock().unlock();
+            first.getLock().writeLock().unlock();
+        }
+    }
+}
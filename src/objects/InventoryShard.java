@@ -0,0 +1,93 @@
+package objects;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// All inventory items of one location ("Main Pharmacy", "Storage", a ward...).
+// Normal stock operations share the read lock, so they run in parallel and only touch this
+// location; a transfer takes the write lock of both locations involved.
+public class InventoryShard {
+    private final String location;
+    private final ConcurrentMap<String, Inventory> items;
+    private final ReentrantReadWriteLock lock;
+
+    public InventoryShard(String location) {
+        if (location == null) {
+            throw new IllegalArgumentException("Location cannot be null.");
+        }
+        this.location = location;
+        this.items = new ConcurrentHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    // Getters
+    public String getLocation() {
+        return location;
+    }
+
+    public Inventory getItem(String itemId) {
+        return items.get(itemId);
+    }
+
+    public Collection<Inventory> getItems() {
+        return Collections.unmodifiableCollection(items.values());
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    ReentrantReadWriteLock getLock() {
+        return lock;
+    }
+
+    // Methods
+    // returns the item already stored under this id if there is one
+    Inventory addItem(Inventory item) {
+        Inventory existing = items.putIfAbsent(item.getItemId(), item);
+        return existing == null ? item : existing;
+    }
+
+    public StockResult addStock(String itemId, int amount) {
+        lock.readLock().lock();
+        try {
+            Inventory item = items.get(itemId);
+            if (item == null) {
+                return null;
+            }
+            return item.addStock(amount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StockResult receiveLot(String itemId, String lotId, LocalDate expiryDate, int amount) {
+        lock.readLock().lock();
+        try {
+            Inventory item = items.get(itemId);
+            if (item == null) {
+                return null;
+            }
+            return item.receiveLot(lotId, expiryDate, amount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StockResult removeStock(String itemId, int amount) {
+        lock.readLock().lock();
+        try {
+            Inventory item = items.get(itemId);
+            if (item == null) {
+                return null;
+            }
+            return item.removeStock(amount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package objects;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Slows down password guessing before it reaches the (deliberately slow) password hash.
+// Every attempt counts against its source, so a burst from one place is cut off whatever
+// usernames it tries; failed attempts also count against the username, so one account
+// can't be guessed at from many places. Registered accounts get a counter of their own,
+// made once per account, so a credential stuffing run can't lock real users out by
+// colliding with them; made up usernames share one fixed size table, so millions of them
+// cost no memory (and look locked just like real ones, so lockouts don't reveal accounts).
+public class LoginRateLimiter {
+    public static final int DEFAULT_USERNAME_FAILURES = 5; // per 15 minutes
+    public static final int DEFAULT_SOURCE_ATTEMPTS = 60; // per minute
+    private static final int FAILURE_BUCKETS = 15;
+    private static final long FAILURE_BUCKET_MILLIS = 60_000L;
+    private static final SlidingWindowCounter NO_FAILURES = new SlidingWindowCounter(1, 1, FAILURE_BUCKET_MILLIS);
+
+    private final CredentialStore credentials;
+    private final Map<Person, SlidingWindowCounter> accountFailures;
+    private final SlidingWindowCounter unknownFailures;
+    private final SlidingWindowCounter sourceAttempts;
+    private final int maxUsernameFailures;
+    private final int maxSourceAttempts;
+
+    public LoginRateLimiter(CredentialStore credentials) {
+        this(credentials, DEFAULT_USERNAME_FAILURES, new SlidingWindowCounter(16384, 12, 5_000L), DEFAULT_SOURCE_ATTEMPTS);
+    }
+
+    public LoginRateLimiter(CredentialStore credentials, int maxUsernameFailures,
+                            SlidingWindowCounter sourceAttempts, int maxSourceAttempts) {
+        if (maxUsernameFailures <= 0 || maxSourceAttempts <= 0) {
+            throw new IllegalArgumentException("Limits must be positive.");
+        }
+        this.credentials = credentials;
+        this.accountFailures = new ConcurrentHashMap<>();
+        this.unknownFailures = new SlidingWindowCounter(16384, FAILURE_BUCKETS, FAILURE_BUCKET_MILLIS);
+        this.sourceAttempts = sourceAttempts;
+        this.maxUsernameFailures = maxUsernameFailures;
+        this.maxSourceAttempts = maxSourceAttempts;
+    }
+
+    // Getters
+    public boolean isLockedOut(String username) {
+        return failures(username, false).count(username, System.currentTimeMillis()) >= maxUsernameFailures;
+    }
+
+    // how long the caller should wait before trying again, 0 if it may try now
+    public long getRetryAfterMillis(String username, String source) {
+        long now = System.currentTimeMillis();
+        return Math.max(failures(username, false).retryAfterMillis(username, maxUsernameFailures, now),
+                sourceAttempts.retryAfterMillis(source, maxSourceAttempts, now));
+    }
+
+    // Methods
+    // Call before checking the password. Counts the attempt against the source even when it
+    // is refused, so a source that keeps hammering stays blocked until it backs off.
+    public boolean allowAttempt(String username, String source) {
+        long now = System.currentTimeMillis();
+        if (sourceAttempts.add(source, now) > maxSourceAttempts) {
+            return false;
+        }
+        return failures(username, false).count(username, now) < maxUsernameFailures;
+    }
+
+    public void recordFailure(String username) {
+        failures(username, true).add(username, System.currentTimeMillis());
+    }
+
+    public void forget(Person user) {
+        accountFailures.remove(user);
+    }
+
+    private SlidingWindowCounter failures(String username, boolean create) {
+        Person user = username == null ? null : credentials.findByUsername(username);
+        if (user == null) {
+            return unknownFailures;
+        }
+        SlidingWindowCounter counter = accountFailures.get(user);
+        if (counter == null) {
+            if (!create) {
+                return NO_FAILURES; // read only, accounts that never failed don't get a counter
+            }
+            counter = accountFailures.computeIfAbsent(user, key -> new SlidingWindowCounter(1, FAILURE_BUCKETS, FAILURE_BUCKET_MILLIS));
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,36 @@
+package objects;
+
+import java.time.LocalDate;
+
+// How much was taken out of one lot by a pick, a transfer or the expiry sweep.
+public class LotAllocation {
+    private final StockLot lot;
+    private final int amount;
+
+    public LotAllocation(StockLot lot, int amount) {
+        this.lot = lot;
+        this.amount = amount;
+    }
+
+    // Getters
+    public StockLot getLot() {
+        return lot;
+    }
+
+    public String getLotId() {
+        return lot.getLotId();
+    }
+
+    public LocalDate getExpiryDate() {
+        return lot.getExpiryDate();
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public String GeneralInfo() {
+        return "Lot " + lot.getLotId() + " of " + lot.getItem().getItemName() +
+                " (expires " + lot.getExpiryDate() + "): " + amount;
+    }
+}
@@ -0,0 +1,6 @@
+package objects;
+
+// Reorder event: fired once when an item drops to (or below) its minimum quantity.
+public interface LowStockListener {
+    void lowStock(Inventory item, int headroom);
+}
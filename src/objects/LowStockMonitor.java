@@ -0,0 +1,90 @@
+package objects;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Keeps every tracked item in a min-heap keyed by headroom (quantity - minimumQuantity).
+// Items update their own position when their stock changes, so "which items are closest
+// to running out" is read from the top of the heap instead of scanning the inventory.
+public class LowStockMonitor implements InventoryListener {
+    private final IndexedMinHeap<Inventory> heap;
+    private final List<LowStockListener> listeners;
+
+    public LowStockMonitor() {
+        this.heap = new IndexedMinHeap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    // Getters
+    public synchronized int getTrackedCount() {
+        return heap.size();
+    }
+
+    // the n items with the least headroom, most at risk first
+    public synchronized List<Inventory> getMostAtRisk(int n) {
+        return heap.smallest(n);
+    }
+
+    // every item at or below its minimum quantity
+    public synchronized List<Inventory> getLowStockItems() {
+        return heap.atMost(0);
+    }
+
+    // Methods
+    public void addLowStockListener(LowStockListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeLowStockListener(LowStockListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void track(Inventory item) {
+        long headroom;
+        synchronized (this) {
+            if (heap.contains(item)) {
+                return;
+            }
+            headroom = headroom(item);
+            heap.put(item, headroom);
+        }
+        item.addListener(this);
+        if (headroom <= 0) {
+            fireLowStock(item, headroom);
+        }
+    }
+
+    public void untrack(Inventory item) {
+        item.removeListener(this);
+        synchronized (this) {
+            heap.remove(item);
+        }
+    }
+
+    @Override
+    public void stockChanged(Inventory item) {
+        long before;
+        long after;
+        synchronized (this) {
+            if (!heap.contains(item)) {
+                return;
+            }
+            before = heap.getKey(item);
+            after = headroom(item); // re-read, so out of order callbacks still leave the latest value
+            heap.put(item, after);
+        }
+        if (before > 0 && after <= 0) { // only on the crossing, not on every withdrawal below it
+            fireLowStock(item, after);
+        }
+    }
+
+    private void fireLowStock(Inventory item, long headroom) {
+        for (LowStockListener listener : listeners) {
+            listener.lowStock(item, (int) headroom);
+        }
+    }
+
+    private static long headroom(Inventory item) {
+        return (long) item.getQuantity() - item.getMinimumQuantity();
+    }
+}
@@ -1,16 +1,16 @@
 package objects;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class MedicalRecord {
-    private static int recordCounter = 1;
     private String recordId;
     private Patient patient;
     private String diagnoses;
     private String procedures;
-    public List<String> medications;
+    private volatile List<String> medications; // copy on write, replaced as a whole by setMedications
     private String allergies;
     private String immunizations;
     private String labResults;
@@ -21,7 +21,7 @@ public class MedicalRecord {
     private String notes;
 
     public static String generateNewRecordId() {
-        return "MR" + String.format("%04d", recordCounter++);
+        return IdAllocator.getDefault().nextId("MR");
     }
 
     public MedicalRecord(String recordId, Patient patient, String bloodType,
@@ -34,7 +34,7 @@ public class MedicalRecord {
         this.weight = weight;
         this.diagnoses = diagnoses;
         this.procedures = procedures;
-        this.medications = new ArrayList<>();
+        this.medications = new CopyOnWriteArrayList<>();
         this.allergies = allergies;
         this.immunizations = immunizations;
         this.labResults = labResults;
@@ -60,7 +60,7 @@ public class MedicalRecord {
     }
 
     public List<String> getMedications() {
-        return new ArrayList<>(medications);
+        return Collections.unmodifiableList(medications);
     }
 
     public String getAllergies() {
@@ -117,7 +117,7 @@ public class MedicalRecord {
     }
 
     public void setMedications(List<String> medications) {
-        this.medications = new ArrayList<>(medications);
+        this.medications = new CopyOnWriteArrayList<>(medications);
         this.lastUpdated = LocalDateTime.now();
     }
 
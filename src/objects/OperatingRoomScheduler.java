@@ -0,0 +1,221 @@
+package objects;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Puts a day's procedures into the operating rooms. A room fits a procedure when its
+// equipment bitset contains every required tag, and a placement also needs the room, the
+// surgeon and the patient free for the whole run of slots. Procedures with the fewest
+// possible placements go first (most constrained first); each takes the earliest start
+// that works and, among the rooms free then, the one with the least equipment, so well
+// equipped rooms stay open for procedures that need them. Everything is bitset arithmetic
+// over the day's slots, a few hundred procedures over dozens of rooms take milliseconds.
+public class OperatingRoomScheduler {
+    public static final String ROOM_TYPE = "Operating Room";
+
+    private final RoomScheduler roomScheduler;
+    private final EquipmentTags equipmentTags;
+
+    public OperatingRoomScheduler(RoomScheduler roomScheduler, EquipmentTags equipmentTags) {
+        this.roomScheduler = roomScheduler;
+        this.equipmentTags = equipmentTags;
+    }
+
+    private static class Candidate {
+        private final Procedure procedure;
+        private final int[] rooms; // indexes of the rooms with the right equipment
+        private final int options; // (room, start) pairs open before anything is placed
+
+        private Candidate(Procedure procedure, int[] rooms, int options) {
+            this.procedure = procedure;
+            this.rooms = rooms;
+            this.options = options;
+        }
+    }
+
+    // Getters
+    public EquipmentTags getEquipmentTags() {
+        return equipmentTags;
+    }
+
+    // Methods
+    // Does not reserve anything, call book() with the result to hold the rooms.
+    public OperatingSchedule solve(LocalDate date, List<Procedure> procedures) {
+        StaticSchedule.Day day = StaticSchedule.dayOf(date);
+        if (day == null) {
+            throw new IllegalArgumentException("Operating rooms are only scheduled on weekdays.");
+        }
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot plan operating rooms for a past date.");
+        }
+        int slotCount = StaticSchedule.getSlotCount();
+
+        List<Room> rooms = roomScheduler.getRoomsOfType(ROOM_TYPE);
+        BitSet[] roomEquipment = new BitSet[rooms.size()];
+        BitSet[] roomBusy = new BitSet[rooms.size()];
+        for (int i = 0; i < rooms.size(); i++) {
+            roomEquipment[i] = equipmentTags.parse(rooms.get(i).getEquipment());
+            roomBusy[i] = reservedSlots(rooms.get(i), date);
+        }
+
+        Map<Doctor, BitSet> surgeonBusy = new HashMap<>();
+        Map<Patient, BitSet> patientBusy = new HashMap<>();
+        Map<Procedure, String> unscheduled = new LinkedHashMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Procedure procedure : procedures) {
+            int length = procedure.getSlotCount();
+            if (length > slotCount) {
+                unscheduled.put(procedure, "Longer than the operating day.");
+                continue;
+            }
+
+            BitSet required = equipmentTags.parse(procedure.getRequiredEquipment());
+            List<Integer> fitting = new ArrayList<>();
+            for (int i = 0; i < rooms.size(); i++) {
+                BitSet missing = (BitSet) required.clone();
+                missing.andNot(roomEquipment[i]);
+                if (missing.isEmpty()) {
+                    fitting.add(i);
+                }
+            }
+            if (fitting.isEmpty()) {
+                unscheduled.put(procedure, "No operating room has all of: " + procedure.getRequiredEquipment());
+                continue;
+            }
+
+            BitSet surgeon = surgeonBusy.computeIfAbsent(procedure.getSurgeon(), doctor -> unavailableSlots(doctor, date));
+            patientBusy.computeIfAbsent(procedure.getPatient(), patient -> new BitSet(slotCount));
+            int[] fittingRooms = new int[fitting.size()];
+            int options = 0;
+            for (int i = 0; i < fittingRooms.length; i++) {
+                fittingRooms[i] = fitting.get(i);
+                for (int start = 0; start + length <= slotCount; start++) {
+                    if (isFree(surgeon, start, length) && isFree(roomBusy[fittingRooms[i]], start, length)) {
+                        options++;
+                    }
+                }
+            }
+            candidates.add(new Candidate(procedure, fittingRooms, options));
+        }
+
+        candidates.sort(Comparator.<Candidate>comparingInt(c -> c.options)
+                .thenComparing(c -> c.procedure.getSlotCount(), Comparator.reverseOrder())
+                .thenComparing(c -> c.procedure.getProcedureId(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<ProcedureBooking> bookings = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            Procedure procedure = candidate.procedure;
+            int length = procedure.getSlotCount();
+            BitSet surgeon = surgeonBusy.get(procedure.getSurgeon());
+            BitSet patient = patientBusy.get(procedure.getPatient());
+            BitSet people = (BitSet) surgeon.clone();
+            people.or(patient);
+
+            ProcedureBooking booking = null;
+            for (int start = 0; start + length <= slotCount && booking == null; start++) {
+                if (!isFree(people, start, length)) {
+                    continue;
+                }
+                int best = -1;
+                for (int room : candidate.rooms) {
+                    if (isFree(roomBusy[room], start, length)
+                            && (best < 0 || roomEquipment[room].cardinality() < roomEquipment[best].cardinality())) {
+                        best = room;
+                    }
+                }
+                if (best >= 0) {
+                    roomBusy[best].set(start, start + length);
+                    surgeon.set(start, start + length);
+                    patient.set(start, start + length);
+                    booking = new ProcedureBooking(procedure, rooms.get(best), date, start);
+                }
+            }
+
+            if (booking != null) {
+                bookings.add(booking);
+            } else if (candidate.options == 0) {
+                unscheduled.put(procedure, "Surgeon has no free time long enough on " + day + ".");
+            } else {
+                unscheduled.put(procedure, "No room and surgeon time left.");
+            }
+        }
+
+        bookings.sort(Comparator.comparing((ProcedureBooking b) -> b.getRoom().getRoomName())
+                .thenComparingInt(ProcedureBooking::getStartSlot));
+        return new OperatingSchedule(date, bookings, unscheduled);
+    }
+
+    // Reserves the rooms of a solved schedule. Returns the bookings that could not be held
+    // because the room was taken after the schedule was solved.
+    public List<ProcedureBooking> book(OperatingSchedule schedule) {
+        List<ProcedureBooking> failed = new ArrayList<>();
+        for (ProcedureBooking booking : schedule.getBookings()) {
+            Room room = booking.getRoom();
+            synchronized (room) {
+                if (!room.getReservations(booking.getStart(), booking.getEnd()).isEmpty()
+                        || room.reserve(booking.getProcedure().getPatient(), booking.getStart(), booking.getEnd()) == null) {
+                    failed.add(booking);
+                }
+            }
+        }
+        return failed;
+    }
+
+    // an operating room runs one procedure at a time, so any reservation blocks the slot
+    private static BitSet reservedSlots(Room room, LocalDate date) {
+        BitSet busy = new BitSet(StaticSchedule.getSlotCount());
+        for (int i = 0; i < StaticSchedule.getSlotCount(); i++) {
+            LocalDateTime start = date.atTime(StaticSchedule.getSlotTime(i));
+            if (!room.getReservations(start, start.plusMinutes(StaticSchedule.SLOT_MINUTES)).isEmpty()) {
+                busy.set(i);
+            }
+        }
+        return busy;
+    }
+
+    // slots that have already started, or that the surgeon has an appointment in on that date
+    private static BitSet unavailableSlots(Doctor doctor, LocalDate date) {
+        int slotCount = StaticSchedule.getSlotCount();
+        BitSet busy = new BitSet(slotCount);
+        if (doctor.getStaticSchedule() == null) {
+            busy.set(0, slotCount);
+            return busy;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < slotCount; i++) {
+            if (!date.atTime(StaticSchedule.getSlotTime(i)).isAfter(now)) {
+                busy.set(i);
+            }
+        }
+        // by the appointment's own date, not StaticSchedule.dateOf(day), which is only the
+        // coming occurrence of the weekday and misses anything booked further out
+        for (Appointment appointment : doctor.getAppointments()) {
+            if ("Canceled".equals(appointment.getStatus())
+                    || !appointment.getDateTime().toLocalDate().equals(date)) {
+                continue;
+            }
+            LocalTime start = appointment.getDateTime().toLocalTime();
+            LocalTime end = start.plusMinutes(Math.max(appointment.getDurationMinutes(), StaticSchedule.SLOT_MINUTES));
+            for (int i = 0; i < slotCount; i++) {
+                LocalTime slot = StaticSchedule.getSlotTime(i);
+                if (slot.isBefore(end) && slot.plusMinutes(StaticSchedule.SLOT_MINUTES).isAfter(start)) {
+                    busy.set(i);
+                }
+            }
+        }
+        return busy;
+    }
+
+    private static boolean isFree(BitSet busy, int start, int length) {
+        int next = busy.nextSetBit(start);
+        return next < 0 || next >= start + length;
+    }
+}
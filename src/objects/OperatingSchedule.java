@@ -0,0 +1,38 @@
+package objects;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// A solved day of operating rooms: what got a room and time, and why the rest did not.
+public class OperatingSchedule {
+    private final LocalDate date;
+    private final List<ProcedureBooking> bookings; // by room, then start
+    private final Map<Procedure, String> unscheduled; // procedure -> reason
+
+    OperatingSchedule(LocalDate date, List<ProcedureBooking> bookings, Map<Procedure, String> unscheduled) {
+        this.date = date;
+        this.bookings = Collections.unmodifiableList(bookings);
+        this.unscheduled = Collections.unmodifiableMap(unscheduled);
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<ProcedureBooking> getBookings() {
+        return bookings;
+    }
+
+    public Map<Procedure, String> getUnscheduled() {
+        return unscheduled;
+    }
+
+    public String GeneralInfo() {
+        return "Date: " + date +
+                ", Scheduled: " + bookings.size() +
+                ", Unscheduled: " + unscheduled.size();
+    }
+}
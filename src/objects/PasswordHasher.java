@@ -0,0 +1,93 @@
+package objects;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+// Salted PBKDF2-HMAC-SHA256 password hashes. A stored hash looks like
+// "pbkdf2-sha256$120000$<salt>$<hash>" (Base64), so the iteration count can be raised later
+// without breaking hashes made with the old one.
+public class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    public static final String FORMAT = PREFIX + "$<iterations>$<base64 salt>$<base64 hash>";
+    private static final int DEFAULT_ITERATIONS = 120_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final PasswordHasher DEFAULT = new PasswordHasher(DEFAULT_ITERATIONS);
+
+    private final int iterations;
+    private final SecureRandom random;
+
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive.");
+        }
+        this.iterations = iterations;
+        this.random = new SecureRandom();
+    }
+
+    // Getters
+    public static PasswordHasher getDefault() {
+        return DEFAULT;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Methods
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    // whether the text is a hash this class can verify, without checking any password against it
+    public static boolean isHash(String stored) {
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            return Integer.parseInt(parts[1]) > 0 && base64.decode(parts[2]).length > 0
+                    && base64.decode(parts[3]).length == HASH_BITS / 8;
+        } catch (IllegalArgumentException e) { // NumberFormatException too
+            return false;
+        }
+    }
+
+    // Compares in constant time, so the time taken does not tell how much of the hash matched.
+    public boolean verify(String password, String stored) {
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            throw new IllegalArgumentException("Unknown password hash format.");
+        }
+        Base64.Decoder base64 = Base64.getDecoder();
+        byte[] expected = base64.decode(parts[3]);
+        byte[] actual = derive(password, base64.decode(parts[2]), Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        char[] chars = password.toCharArray();
+        KeySpec spec = new PBEKeySpec(chars, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available in this JDK.", e);
+        } finally {
+            ((PBEKeySpec) spec).clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
@@ -1,28 +1,36 @@
 package objects;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Patient extends Person {
-    private static int patientCounter = 1;
     private boolean hasInsurance;
     private String insuranceProvider;
     private double balance;
-    public List<Appointment> appointments;
-    public List<Prescription> prescriptions;
+    private final AppendOnlyList<Appointment> appointments; // readers iterate a snapshot, no copy and no lock
+    private final CopyOnWriteArrayList<Prescription> prescriptions;
     private MedicalRecord medicalRecord;
-    public List<Bill> bills;
+    private final CopyOnWriteArrayList<Bill> bills;
 
 
     public static String generateNewPatientId() { // Idea Comes From ChatGPT
-        return "P" + String.format("%04d", patientCounter++);
+        return IdAllocator.getDefault().nextId("P");
     }
 
     public Patient(String id, String firstName, String lastName, int age, char gender,
                   String phoneNumber, String username, String password,
                   boolean hasInsurance, String insuranceProvider) {
+        this(id, firstName, lastName, age, gender, phoneNumber, username, password, false, hasInsurance, insuranceProvider);
+    }
+
+    // passwordIsHash: see Person
+    Patient(String id, String firstName, String lastName, int age, char gender,
+            String phoneNumber, String username, String password, boolean passwordIsHash,
+            boolean hasInsurance, String insuranceProvider) {
 
-        super(id, firstName, lastName, age, gender, phoneNumber, username, password);
+        super(id, firstName, lastName, age, gender, phoneNumber, username, password, passwordIsHash);
 
         if (id == null || firstName == null || lastName == null || age <= 0 || gender == '\0' || phoneNumber == null || username == null || password == null) {
             throw new IllegalArgumentException("ID, first name, last name, age, gender, phone number, username, and password cannot be null or age cannot be less than 0.");
@@ -30,9 +38,9 @@ public class Patient extends Person {
         this.hasInsurance = hasInsurance;
         this.insuranceProvider = insuranceProvider;
         this.balance = 0.0;
-        this.appointments = new ArrayList<>();
-        this.prescriptions = new ArrayList<>();
-        this.bills = new ArrayList<>();
+        this.appointments = new AppendOnlyList<>();
+        this.prescriptions = new CopyOnWriteArrayList<>();
+        this.bills = new CopyOnWriteArrayList<>();
         this.medicalRecord = null;
     }
 
@@ -51,11 +59,11 @@ public class Patient extends Person {
     }
 
     public List<Appointment> getAppointments() {
-        return new ArrayList<>(appointments);
+        return appointments.snapshot();
     }
 
     public List<Prescription> getPrescriptions() {
-        return new ArrayList<>(prescriptions);
+        return Collections.unmodifiableList(prescriptions);
     }
 
     public MedicalRecord getMedicalRecord() {
@@ -63,7 +71,7 @@ public class Patient extends Person {
     }
 
     public List<Bill> getBills() {
-        return new ArrayList<>(bills);
+        return Collections.unmodifiableList(bills);
     }
 
     // Setters
@@ -82,17 +90,13 @@ public class Patient extends Person {
 
     // Methods
     public void addAppointment(Appointment appointment) {
-        if (!appointments.contains(appointment)) {
-            appointments.add(appointment);
-        }
+        appointments.addIfAbsent(appointment);
     }
 
     public void addPrescription(Prescription prescription) {
-        if (!prescriptions.contains(prescription)) {
-            prescriptions.add(prescription);
-            if (medicalRecord != null) {
-                medicalRecord.addMedication(prescription.getMedication());
-            }
+        if (prescriptions.addIfAbsent(prescription)) {
+            // the medical record is updated by a subscriber, see DomainReactions
+            EventBus.getDefault().publish(EventType.PRESCRIPTION_WRITTEN, prescription, prescription.getDoctor(), 0.0);
         }
     }
 
@@ -101,6 +105,33 @@ public class Patient extends Person {
         this.balance = balance;
     }
 
+    // Adds a charge to the patient's open bill, opening a new one (due in 30 days) when
+    // there is no unpaid bill. Called from the room billing job, so it is synchronized.
+    public synchronized Bill chargeToBill(double amount) {
+        Bill open = null;
+        for (int i = bills.size() - 1; i >= 0 && open == null; i--) {
+            if (!bills.get(i).isPaid()) {
+                open = bills.get(i);
+            }
+        }
+        if (open == null || !open.addCharge(amount)) {
+            open = new Bill(Bill.generateNewBillId(), this, LocalDateTime.now().plusDays(30));
+            open.addCharge(amount);
+            bills.add(open);
+        }
+        this.balance += amount;
+        return open;
+    }
+
+    public synchronized void payBill(Bill bill) {
+        double remaining = bill.getRemainingAmount();
+        if (remaining <= 0 || bill.isPaid()) {
+            return;
+        }
+        bill.makePayment(remaining);
+        this.balance -= remaining;
+    }
+
     @Override
     public String GeneralInfo() {
         String insurance;
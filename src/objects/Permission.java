@@ -0,0 +1,45 @@
+package objects;
+
+// Everything a signed in user can be allowed to do. Each permission is one bit, so a role's
+// permissions fit in a single long and checking one is a single AND.
+public enum Permission {
+    VIEW_PROFILE,
+    MANAGE_DEPARTMENTS,
+    MANAGE_STAFF,
+    VIEW_REPORTS,
+    MANAGE_ROOMS,
+    VIEW_BED_DASHBOARD,
+    PLAN_OPERATING_ROOMS,
+    IMPORT_DATA,
+    EXPORT_DATA,
+    BOOK_APPOINTMENT,
+    VIEW_OWN_APPOINTMENTS,
+    MANAGE_APPOINTMENTS,
+    VIEW_PATIENTS,
+    WRITE_PRESCRIPTION,
+    UPDATE_MEDICAL_RECORDS,
+    VIEW_OWN_MEDICAL_RECORDS,
+    VIEW_OWN_PRESCRIPTIONS,
+    DISPENSE_PRESCRIPTIONS,
+    MANAGE_INVENTORY,
+    WRITE_REVIEW,
+    VIEW_OWN_BILL,
+    MANAGE_ADMISSIONS,
+    REQUEST_SURGERY,
+    SET_CONSULTATION_FEE,
+    VIEW_EARNINGS;
+
+    private final long bit = 1L << ordinal(); // at most 64 permissions
+
+    public long bit() {
+        return bit;
+    }
+
+    public static long mask(Permission... permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+}
@@ -8,10 +8,19 @@ public abstract class Person {
     private char gender;
     private String phoneNumber;
     private String username;
-    private String password;
+    private volatile String passwordHash; // salted PBKDF2, the plain password is never kept
 
     public Person(String id, String firstName, String lastName, int age, char gender, 
                  String phoneNumber, String username, String password) {
+        this(id, firstName, lastName, age, gender, phoneNumber, username, password, false);
+    }
+
+    // passwordIsHash: the password is already a PasswordHasher hash (bulk imports), kept as it is
+    Person(String id, String firstName, String lastName, int age, char gender,
+           String phoneNumber, String username, String password, boolean passwordIsHash) {
+        if (passwordIsHash && password != null && !PasswordHasher.isHash(password)) {
+            throw new IllegalArgumentException("Password hash is not in the " + PasswordHasher.FORMAT + " format.");
+        }
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -19,7 +28,11 @@ public abstract class Person {
         this.gender = gender;
         this.phoneNumber = phoneNumber;
         this.username = username;
-        this.password = password;
+        if (password == null || passwordIsHash) {
+            this.passwordHash = password;
+        } else {
+            this.passwordHash = PasswordHasher.getDefault().hash(password);
+        }
     }
 
     // Getters
@@ -55,8 +68,8 @@ public abstract class Person {
         return username;
     }
 
-    public String getPassword() {
-        return password;
+    String getPasswordHash() {
+        return passwordHash;
     }
 
     // Setters
@@ -65,7 +78,7 @@ public abstract class Person {
     }
 
     public void setPassword(String password) {
-        this.password = password;
+        this.passwordHash = PasswordHasher.getDefault().hash(password);
     }
 
     public void setAge(int age) {
@@ -76,9 +89,10 @@ public abstract class Person {
     }
 
 
-    // Authentication method :D impossible to hack this system with this "public" stuff..
+    // Slow on purpose (one PBKDF2 run), logins should go through CredentialStore
     public boolean authenticate(String username, String password) {
-        return this.username.equals(username) && this.password.equals(password);
+        return this.username.equals(username) && passwordHash != null
+                && PasswordHasher.getDefault().verify(password, passwordHash);
     }
 
     public abstract String GeneralInfo();
@@ -1,24 +1,25 @@
 package objects;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Pharmacist extends Person {
     private String location;
-    public List<String> medications;
+    private final List<String> medications; // copy on write, getters hand out read-only views
     private double salary;
     private String workSchedule;
-    public List<Prescription> prescriptions;
+    private final List<Prescription> prescriptions;
 
     public Pharmacist(String id, String firstName, String lastName, int age, char gender,
                      String phoneNumber, String username, String password,
                      String location, double salary, String workSchedule) {
         super(id, firstName, lastName, age, gender, phoneNumber, username, password);
         this.location = location;
-        this.medications = new ArrayList<>();
+        this.medications = new CopyOnWriteArrayList<>();
         this.salary = salary;
         this.workSchedule = workSchedule;
-        this.prescriptions = new ArrayList<>();
+        this.prescriptions = new CopyOnWriteArrayList<>();
     }
 
     // Getters
@@ -27,7 +28,7 @@ public class Pharmacist extends Person {
     }
 
     public List<String> getMedications() {
-        return new ArrayList<>(medications);
+        return Collections.unmodifiableList(medications);
     }
 
     public double getSalary() {
@@ -46,7 +47,7 @@ public class Pharmacist extends Person {
     }
 
     public List<Prescription> getPrescriptions() {
-        return new ArrayList<>(prescriptions);
+        return Collections.unmodifiableList(prescriptions);
     }
 
     // Methods
@@ -0,0 +1,71 @@
+package objects;
+
+// A surgery waiting for an operating room. Requirements use the same free text as
+// Room.equipment, e.g. "Ventilator, Monitor".
+public class Procedure {
+    public static String generateNewProcedureId() {
+        return IdAllocator.getDefault().nextId("PR");
+    }
+
+    private final String procedureId;
+    private final String name;
+    private final Doctor surgeon;
+    private final Patient patient;
+    private final int durationMinutes;
+    private final String requiredEquipment;
+
+    public Procedure(String procedureId, String name, Doctor surgeon, Patient patient,
+                     int durationMinutes, String requiredEquipment) {
+        if (surgeon == null || patient == null) {
+            throw new IllegalArgumentException("A procedure needs a surgeon and a patient.");
+        }
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive.");
+        }
+        this.procedureId = procedureId;
+        this.name = name;
+        this.surgeon = surgeon;
+        this.patient = patient;
+        this.durationMinutes = durationMinutes;
+        this.requiredEquipment = requiredEquipment == null ? "" : requiredEquipment;
+    }
+
+    // Getters
+    public String getProcedureId() {
+        return procedureId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Doctor getSurgeon() {
+        return surgeon;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public String getRequiredEquipment() {
+        return requiredEquipment;
+    }
+
+    // number of schedule slots it occupies, a started slot counts as a whole one
+    public int getSlotCount() {
+        return (durationMinutes + StaticSchedule.SLOT_MINUTES - 1) / StaticSchedule.SLOT_MINUTES;
+    }
+
+    public String GeneralInfo() {
+        return "Procedure ID: " + procedureId +
+                ", Name: " + name +
+                ", Surgeon: Dr. " + surgeon.getFullName() +
+                ", Patient: " + patient.getFullName() +
+                ", Duration: " + durationMinutes + " min" +
+                ", Needs: " + (requiredEquipment.isEmpty() ? "-" : requiredEquipment);
+    }
+}
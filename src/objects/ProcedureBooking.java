@@ -0,0 +1,54 @@
+package objects;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Where and when the operating room scheduler put a procedure.
+public class ProcedureBooking {
+    private final Procedure procedure;
+    private final Room room;
+    private final LocalDate date;
+    private final int startSlot; // index into the StaticSchedule slots
+
+    ProcedureBooking(Procedure procedure, Room room, LocalDate date, int startSlot) {
+        this.procedure = procedure;
+        this.room = room;
+        this.date = date;
+        this.startSlot = startSlot;
+    }
+
+    // Getters
+    public Procedure getProcedure() {
+        return procedure;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getStartSlot() {
+        return startSlot;
+    }
+
+    public LocalDateTime getStart() {
+        return date.atTime(StaticSchedule.getSlotTime(startSlot));
+    }
+
+    public LocalDateTime getEnd() {
+        return getStart().plusMinutes((long) procedure.getSlotCount() * StaticSchedule.SLOT_MINUTES);
+    }
+
+    public String GeneralInfo() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("HH:mm");
+        return "Room: " + room.getRoomName() +
+                ", " + getStart().format(format) + "-" + getEnd().format(format) +
+                ", " + procedure.getName() + " (" + procedure.getProcedureId() + ")" +
+                ", Surgeon: Dr. " + procedure.getSurgeon().getFullName() +
+                ", Patient: " + procedure.getPatient().getFullName();
+    }
+}
@@ -0,0 +1,7 @@
+package objects;
+
+// Called after a doctor's rating totals changed: a review was added or re-rated.
+// Runs on the thread that made the change, so keep it short.
+public interface RatingListener {
+    void ratingChanged(Doctor doctor);
+}
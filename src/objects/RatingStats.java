@@ -0,0 +1,66 @@
+package objects;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Running rating totals of one doctor. Count and sum share one AtomicLong (count in the high
+// half, sum in the low half) so an average is never computed from a count and a sum of
+// different moments; the histogram has one counter per star.
+public class RatingStats {
+    private static final long ONE_REVIEW = 1L << 32;
+
+    private final AtomicLong totals;
+    private final AtomicLongArray histogram; // index 1..5
+
+    public RatingStats() {
+        this.totals = new AtomicLong();
+        this.histogram = new AtomicLongArray(6);
+    }
+
+    // Getters
+    public long getCount() {
+        return totals.get() >>> 32;
+    }
+
+    public long getSum() {
+        return totals.get() & 0xFFFFFFFFL;
+    }
+
+    // 0.0 when there are no reviews yet
+    public double getAverage() {
+        long packed = totals.get();
+        long count = packed >>> 32;
+        return count == 0 ? 0.0 : (double) (packed & 0xFFFFFFFFL) / count;
+    }
+
+    // Bayesian average: the reviews plus priorWeight imaginary reviews of priorMean, so a
+    // doctor with two 5 star reviews does not outrank one with two hundred 4.8 ones.
+    public double getAdjustedAverage(double priorMean, double priorWeight) {
+        long packed = totals.get();
+        return (priorMean * priorWeight + (packed & 0xFFFFFFFFL)) / (priorWeight + (packed >>> 32));
+    }
+
+    public long getCount(int rating) {
+        return histogram.get(rating);
+    }
+
+    // Methods
+    void add(int rating) {
+        histogram.incrementAndGet(rating);
+        totals.addAndGet(ONE_REVIEW + rating);
+    }
+
+    void change(int oldRating, int newRating) {
+        histogram.decrementAndGet(oldRating);
+        histogram.incrementAndGet(newRating);
+        totals.addAndGet(newRating - oldRating);
+    }
+
+    public String GeneralInfo() {
+        String info = String.format("Average: %.2f (%d reviews)", getAverage(), getCount());
+        for (int rating = 5; rating >= 1; rating--) {
+            info += ", " + rating + "*: " + histogram.get(rating);
+        }
+        return info;
+    }
+}
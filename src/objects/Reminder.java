@@ -0,0 +1,91 @@
+package objects;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// A reminder for an upcoming appointment. It carries everything needed to send it, so it
+// can be rebuilt from the reminder journal after a restart without the appointment itself.
+public class Reminder {
+    public enum Kind {
+        DAY_BEFORE(Duration.ofHours(24)),
+        HOUR_BEFORE(Duration.ofHours(1));
+
+        private final Duration lead;
+
+        Kind(Duration lead) {
+            this.lead = lead;
+        }
+
+        public Duration getLead() {
+            return lead;
+        }
+    }
+
+    private final String appointmentId;
+    private final Kind kind;
+    private final String patientId;
+    private final String patientName;
+    private final String doctorName;
+    private final LocalDateTime appointmentTime;
+    private final long dueMillis;
+
+    Reminder(String appointmentId, Kind kind, String patientId, String patientName, String doctorName,
+             LocalDateTime appointmentTime) {
+        this.appointmentId = appointmentId;
+        this.kind = kind;
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.doctorName = doctorName;
+        this.appointmentTime = appointmentTime;
+        this.dueMillis = appointmentTime.minus(kind.getLead()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static Reminder of(Appointment appointment, Kind kind) {
+        return new Reminder(appointment.getAppointmentId(), kind, appointment.getPatient().getId(),
+                appointment.getPatient().getFullName(), appointment.getDoctor().getFullName(), appointment.getDateTime());
+    }
+
+    // Getters
+    public String getAppointmentId() {
+        return appointmentId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public LocalDateTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public long getDueMillis() {
+        return dueMillis;
+    }
+
+    public String getMessage() {
+        String when = kind == Kind.DAY_BEFORE ? "tomorrow" : "in one hour";
+        return "Dear " + patientName + ", you have an appointment with Dr. " + doctorName + " " + when
+                + " (" + appointmentTime + ", appointment " + appointmentId + ").";
+    }
+
+    // Methods
+    // one journal line, tab separated
+    String toJournal() {
+        return appointmentId + "\t" + kind + "\t" + patientId + "\t" + clean(patientName) + "\t"
+                + clean(doctorName) + "\t" + appointmentTime;
+    }
+
+    static Reminder fromJournal(String[] fields, int offset) {
+        return new Reminder(fields[offset], Kind.valueOf(fields[offset + 1]), fields[offset + 2], fields[offset + 3],
+                fields[offset + 4], LocalDateTime.parse(fields[offset + 5]));
+    }
+
+    private static String clean(String text) {
+        return text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
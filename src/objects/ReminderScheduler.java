@@ -0,0 +1,258 @@
+package objects;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Sends appointment reminders 24 hours and 1 hour ahead. Bookings and cancellations arrive
+// as bus events; pending reminders sit in a timing wheel with one second ticks, so booking,
+// cancelling and each tick cost O(1) per reminder touched, and millions can be pending.
+// Every change is appended to a journal that is replayed (and compacted) on start, so
+// reminders survive a restart; ones that fell due while the system was down go out right
+// away if the appointment is still ahead.
+public class ReminderScheduler implements EventSubscriber, Closeable {
+    public static final String JOURNAL_PROPERTY = "hospital.reminders.journal";
+    public static final String DEFAULT_JOURNAL = "reminders.journal";
+    private static final long TICK_MILLIS = 1000L;
+
+    private final Path journalFile;
+    private final ReminderSink sink;
+    private final TimingWheel<Reminder> wheel;
+    private final Map<String, EnumMap<Reminder.Kind, TimingWheel.Timeout<Reminder>>> byAppointment;
+    private BufferedWriter journal;
+    private ScheduledExecutorService executor;
+    private EventBus bus;
+
+    public ReminderScheduler(Path journalFile, ReminderSink sink) throws IOException {
+        this.journalFile = journalFile;
+        this.sink = sink;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+        this.byAppointment = new HashMap<>();
+        recover();
+    }
+
+    // Getters
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    public synchronized boolean hasReminders(String appointmentId) {
+        return byAppointment.containsKey(appointmentId);
+    }
+
+    // Methods
+    public void attach(EventBus bus) {
+        synchronized (this) {
+            this.bus = bus;
+        }
+        bus.subscribeAsync("reminders", this, EventType.APPOINTMENT_BOOKED,
+                EventType.APPOINTMENT_CANCELLED, EventType.APPOINTMENT_COMPLETED);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        Appointment appointment = event.getPayload(Appointment.class);
+        if (event.getType() == EventType.APPOINTMENT_BOOKED) {
+            schedule(appointment);
+        } else {
+            cancel(appointment.getAppointmentId());
+        }
+    }
+
+    @Override
+    public synchronized void onBatchEnd() {
+        flushJournal();
+    }
+
+    // queues both reminders, skipping any whose time has passed; returns how many were queued
+    public synchronized int schedule(Appointment appointment) {
+        if (!"Scheduled".equals(appointment.getStatus())) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int queued = 0;
+        for (Reminder.Kind kind : Reminder.Kind.values()) {
+            Reminder reminder = Reminder.of(appointment, kind);
+            if (reminder.getDueMillis() > now && add(reminder)) {
+                journal("S\t" + reminder.toJournal());
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    public synchronized boolean cancel(String appointmentId) {
+        EnumMap<Reminder.Kind, TimingWheel.Timeout<Reminder>> pending = byAppointment.remove(appointmentId);
+        if (pending == null) {
+            return false;
+        }
+        for (TimingWheel.Timeout<Reminder> timeout : pending.values()) {
+            wheel.cancel(timeout);
+        }
+        journal("C\t" + appointmentId);
+        return true;
+    }
+
+    // sends everything due by now, returns how many were sent
+    public int runTick(long nowMillis) {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(nowMillis, due);
+            for (Reminder reminder : due) {
+                forget(reminder);
+            }
+        }
+        for (Reminder reminder : due) {
+            try {
+                sink.deliver(reminder);
+            } catch (RuntimeException e) {
+                System.err.println("Reminder for " + reminder.getAppointmentId() + " failed: " + e);
+            }
+        }
+        if (!due.isEmpty()) {
+            synchronized (this) {
+                for (Reminder reminder : due) {
+                    journal("D\t" + reminder.getAppointmentId() + "\t" + reminder.getKind());
+                }
+                flushJournal();
+            }
+        }
+        return due.size();
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "appointment-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> runTick(System.currentTimeMillis()), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        EventBus attached;
+        synchronized (this) {
+            stop();
+            attached = bus;
+            bus = null;
+        }
+        if (attached != null) {
+            attached.awaitDrained(5000); // bookings still on the bus belong in the journal
+            attached.unsubscribe(this);
+        }
+        synchronized (this) {
+            journal.close();
+        }
+    }
+
+    private boolean add(Reminder reminder) {
+        EnumMap<Reminder.Kind, TimingWheel.Timeout<Reminder>> pending =
+                byAppointment.computeIfAbsent(reminder.getAppointmentId(), id -> new EnumMap<>(Reminder.Kind.class));
+        if (pending.containsKey(reminder.getKind())) {
+            return false; // booked twice, e.g. an import of an appointment already on the books
+        }
+        pending.put(reminder.getKind(), wheel.schedule(reminder, reminder.getDueMillis()));
+        return true;
+    }
+
+    private void forget(Reminder reminder) {
+        EnumMap<Reminder.Kind, TimingWheel.Timeout<Reminder>> pending = byAppointment.get(reminder.getAppointmentId());
+        if (pending != null) {
+            pending.remove(reminder.getKind());
+            if (pending.isEmpty()) {
+                byAppointment.remove(reminder.getAppointmentId());
+            }
+        }
+    }
+
+    private void journal(String line) {
+        try {
+            journal.write(line);
+            journal.newLine();
+        } catch (IOException e) {
+            System.err.println("Reminder journal write failed: " + e.getMessage());
+        }
+    }
+
+    private void flushJournal() {
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            System.err.println("Reminder journal write failed: " + e.getMessage());
+        }
+    }
+
+    // Replays the journal into the wheel, then rewrites it with only the pending reminders so
+    // it does not grow forever.
+    private void recover() throws IOException {
+        Map<String, Reminder> pending = new LinkedHashMap<>();
+        if (Files.exists(journalFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    try {
+                        switch (fields[0]) {
+                            case "S":
+                                Reminder reminder = Reminder.fromJournal(fields, 1);
+                                pending.put(reminder.getAppointmentId() + "\t" + reminder.getKind(), reminder);
+                                break;
+                            case "C":
+                                for (Reminder.Kind kind : Reminder.Kind.values()) {
+                                    pending.remove(fields[1] + "\t" + kind);
+                                }
+                                break;
+                            case "D":
+                                pending.remove(fields[1] + "\t" + fields[2]);
+                                break;
+                            default:
+                                break; // a torn last line
+                        }
+                    } catch (RuntimeException e) {
+                        // a torn or unreadable line, skip it
+                    }
+                }
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Path temp = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Reminder reminder : pending.values()) {
+                if (reminder.getAppointmentTime().isAfter(now)) { // overdue ones still go out on the first tick
+                    add(reminder);
+                    out.write("S\t" + reminder.toJournal());
+                    out.newLine();
+                }
+            }
+        }
+        Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,7 @@
+package objects;
+
+// Where due reminders go (a text message gateway, an e-mail sender...). Called from the
+// reminder scheduler's thread.
+public interface ReminderSink {
+    void deliver(Reminder reminder);
+}
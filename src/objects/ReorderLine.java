@@ -0,0 +1,40 @@
+package objects;
+
+// One line of a purchase order suggested by the ReorderPlanner.
+public class ReorderLine {
+    private final Inventory item;
+    private final double forecastDailyUsage;
+    private final int quantity;
+
+    public ReorderLine(Inventory item, double forecastDailyUsage, int quantity) {
+        this.item = item;
+        this.forecastDailyUsage = forecastDailyUsage;
+        this.quantity = quantity;
+    }
+
+    // Getters
+    public Inventory getItem() {
+        return item;
+    }
+
+    public double getForecastDailyUsage() {
+        return forecastDailyUsage;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getEstimatedCost() {
+        return quantity * item.getUnitPrice();
+    }
+
+    public String GeneralInfo() {
+        return "Item: " + item.getItemName() + " (" + item.getItemId() + ")" +
+                ", Location: " + item.getLocation() +
+                ", On Hand: " + item.getQuantity() +
+                ", Forecast: " + String.format("%.2f", forecastDailyUsage) + "/day" +
+                ", Order: " + quantity +
+                ", Cost: $" + String.format("%.2f", getEstimatedCost());
+    }
+}
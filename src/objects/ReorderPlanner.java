@@ -0,0 +1,79 @@
+package objects;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Forecasts daily usage of every item with simple exponential smoothing over its
+// ConsumptionHistory and turns it into reorder quantities grouped by supplier.
+// Items are independent, so the forecast runs as a parallel stream over them.
+public class ReorderPlanner {
+    private final double smoothing;   // alpha, how fast the forecast follows recent days
+    private final int historyDays;
+    private final int leadTimeDays;   // days between ordering and the delivery arriving
+    private final int coverDays;      // days of usage one order should cover after it arrives
+
+    public ReorderPlanner() {
+        this(0.3, 28, 7, 14);
+    }
+
+    public ReorderPlanner(double smoothing, int historyDays, int leadTimeDays, int coverDays) {
+        if (smoothing <= 0 || smoothing > 1 || historyDays <= 0 || leadTimeDays < 0 || coverDays <= 0) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1], history and cover days must be positive and lead time cannot be negative.");
+        }
+        this.smoothing = smoothing;
+        this.historyDays = historyDays;
+        this.leadTimeDays = leadTimeDays;
+        this.coverDays = coverDays;
+    }
+
+    // Methods
+    public double forecastDailyUsage(Inventory item, LocalDate today) {
+        long[] series = item.getConsumptionHistory().getDailySeries(today, historyDays);
+        double level = series[0];
+        for (int i = 1; i < series.length; i++) {
+            level = smoothing * series[i] + (1 - smoothing) * level;
+        }
+        return level;
+    }
+
+    // null when the item has enough stock to last until a delivery ordered later would arrive
+    public ReorderLine plan(Inventory item, LocalDate today) {
+        double daily = forecastDailyUsage(item, today);
+        double reorderPoint = daily * leadTimeDays + item.getMinimumQuantity();
+        int onHand = item.getQuantity();
+        if (onHand > reorderPoint) {
+            return null;
+        }
+        double target = daily * (leadTimeDays + coverDays) + item.getMinimumQuantity();
+        int quantity = (int) Math.ceil(target - onHand);
+        if (quantity <= 0) {
+            return null;
+        }
+        return new ReorderLine(item, daily, quantity);
+    }
+
+    // supplier -> lines to order from them, suppliers and items in alphabetical order
+    public Map<String, List<ReorderLine>> planBySupplier(Collection<Inventory> items, LocalDate today) {
+        Map<String, List<ReorderLine>> bySupplier = items.parallelStream()
+                .map(item -> plan(item, today))
+                .filter(line -> line != null)
+                .collect(Collectors.groupingByConcurrent(line -> supplierOf(line.getItem())));
+
+        Map<String, List<ReorderLine>> sorted = new TreeMap<>();
+        for (Map.Entry<String, List<ReorderLine>> entry : bySupplier.entrySet()) {
+            List<ReorderLine> lines = entry.getValue();
+            lines.sort(Comparator.comparing(line -> line.getItem().getItemId()));
+            sorted.put(entry.getKey(), lines);
+        }
+        return sorted;
+    }
+
+    private static String supplierOf(Inventory item) {
+        return item.getSupplier() == null ? "Unknown Supplier" : item.getSupplier();
+    }
+}
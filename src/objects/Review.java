@@ -8,6 +8,7 @@ public class Review {
     private String comment;
     private int rating;
     private LocalDateTime reviewDate;
+    private boolean counted; // in the doctor's rating totals
 
     public Review(Patient reviewer, Doctor reviewedDoctor, String comment, int rating) {
 
@@ -35,7 +36,7 @@ public class Review {
         return comment;
     }
 
-    public int getRating() {
+    public synchronized int getRating() {
         return rating;
     }
 
@@ -43,17 +44,31 @@ public class Review {
         return reviewDate;
     }
 
+    synchronized boolean isCounted() {
+        return counted;
+    }
+
     // Setters
     public void setComment(String newComment) {
         this.comment = newComment;
     }
 
     public void setRating(int rating) {
-        if (rating >= 1 && rating <= 5) {
-            this.rating = rating;
-        } else {
+        if (rating < 1 || rating > 5) {
             throw new IllegalArgumentException("Rating must be between 1 and 5.");
         }
+        synchronized (this) {
+            int oldRating = this.rating;
+            this.rating = rating;
+            if (!counted || oldRating == rating) {
+                return;
+            }
+            reviewedDoctor.reviewRated(this, oldRating, rating); // under our lock, so two updates cannot swap their deltas
+        }
+    }
+
+    synchronized void setCounted() {
+        this.counted = true;
     }
 
     public void updateRating(int newRating) {
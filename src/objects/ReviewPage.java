@@ -0,0 +1,33 @@
+package objects;
+
+import java.util.Collections;
+import java.util.List;
+
+// One screen of reviews, newest first. Pass getNextCursor() back to ReviewStore to get the
+// following page; it is null on the last page.
+public class ReviewPage {
+    private final List<Review> reviews;
+    private final String nextCursor;
+
+    ReviewPage(List<Review> reviews, String nextCursor) {
+        this.reviews = Collections.unmodifiableList(reviews);
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<Review> getReviews() {
+        return reviews;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return reviews.isEmpty();
+    }
+}
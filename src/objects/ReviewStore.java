@@ -0,0 +1,128 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A doctor's reviews ordered by review date, with one more ordered map per star rating.
+// A page starts right after the last review of the previous one (the cursor), so showing
+// page n never walks or copies the pages before it, and a rating filter only walks reviews
+// with that rating.
+public class ReviewStore {
+    private static final class Key implements Comparable<Key> {
+        private final LocalDateTime date;
+        private final long sequence; // reviews written at the same moment stay distinct
+
+        private Key(LocalDateTime date, long sequence) {
+            this.date = date;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public String toString() {
+            return date + "#" + sequence;
+        }
+
+        private static Key parse(String cursor) {
+            int hash = cursor.lastIndexOf('#');
+            if (hash < 0) {
+                throw new IllegalArgumentException("Invalid review cursor: " + cursor);
+            }
+            try {
+                return new Key(LocalDateTime.parse(cursor.substring(0, hash)), Long.parseLong(cursor.substring(hash + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid review cursor: " + cursor);
+            }
+        }
+    }
+
+    private final ConcurrentNavigableMap<Key, Review> newestFirst;
+    private final List<ConcurrentNavigableMap<Key, Review>> newestFirstByRating; // index 1..5
+    private final Map<Review, Key> keys;
+    private final AtomicLong nextSequence;
+
+    public ReviewStore() {
+        this.newestFirst = new ConcurrentSkipListMap<Key, Review>().descendingMap();
+        this.newestFirstByRating = new ArrayList<>();
+        for (int rating = 0; rating <= 5; rating++) {
+            this.newestFirstByRating.add(new ConcurrentSkipListMap<Key, Review>().descendingMap());
+        }
+        this.keys = new ConcurrentHashMap<>();
+        this.nextSequence = new AtomicLong();
+    }
+
+    // Getters
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    // Up to limit reviews after the cursor (null for the newest), newest first. rating 0
+    // means every rating, 1-5 only reviews with that many stars.
+    public ReviewPage getPage(String cursor, int limit, int rating) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        if (rating < 0 || rating > 5) {
+            throw new IllegalArgumentException("Rating filter must be between 0 and 5.");
+        }
+        ConcurrentNavigableMap<Key, Review> source = rating == 0 ? newestFirst : newestFirstByRating.get(rating);
+        if (cursor != null) {
+            source = source.tailMap(Key.parse(cursor), false);
+        }
+
+        List<Review> reviews = new ArrayList<>();
+        Key last = null;
+        Iterator<Map.Entry<Key, Review>> iterator = source.entrySet().iterator();
+        while (iterator.hasNext() && reviews.size() < limit) {
+            Map.Entry<Key, Review> entry = iterator.next();
+            reviews.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new ReviewPage(reviews, iterator.hasNext() ? last.toString() : null);
+    }
+
+    // read-only live view, newest first
+    public Collection<Review> getAll() {
+        return Collections.unmodifiableCollection(newestFirst.values());
+    }
+
+    // Methods
+    // false when the review is already in the store
+    boolean add(Review review) {
+        Key key = new Key(review.getReviewDate(), nextSequence.getAndIncrement());
+        if (keys.putIfAbsent(review, key) != null) {
+            return false;
+        }
+        newestFirst.put(key, review);
+        newestFirstByRating.get(review.getRating()).put(key, review);
+        return true;
+    }
+
+    // called while the review is locked, so moves of one review cannot interleave
+    void rerated(Review review, int oldRating, int newRating) {
+        Key key = keys.get(review);
+        if (key == null) {
+            return;
+        }
+        newestFirstByRating.get(oldRating).remove(key);
+        newestFirstByRating.get(newRating).put(key, review);
+    }
+}
@@ -0,0 +1,234 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+// Checks reviews before they are published: the patient must have a completed appointment
+// with the doctor, may review each doctor once, and the comment must not be a near copy of
+// one already accepted. Visits and reviewed pairs are hash sets. Near copies are found with
+// MinHash: every comment gets a 64 number signature of its 4 character shingles, the
+// signature is cut into 16 bands of 4 and only comments sharing a whole band are compared,
+// so a new comment is checked against a handful of candidates, not every review ever written.
+public class ReviewValidator implements ScheduleListener {
+    private static final int HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int SHINGLE = 4;
+    private static final int MIN_LENGTH = 20; // shorter comments ("Great doctor") are allowed to repeat
+    private static final double DEFAULT_THRESHOLD = 0.8;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL); // fixed, signatures must stay comparable
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private static class Signed {
+        private final Review review;
+        private final long[] signature;
+
+        private Signed(Review review, long[] signature) {
+            this.review = review;
+            this.signature = signature;
+        }
+    }
+
+    private final double threshold;
+    private final Set<String> completedVisits; // patient id + doctor id
+    private final Set<String> reviewedPairs;
+    private final List<Map<Long, Queue<Signed>>> bands;
+    private final Set<Doctor> trackedDoctors;
+
+    public ReviewValidator() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public ReviewValidator(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Similarity threshold must be between 0 and 1.");
+        }
+        this.threshold = threshold;
+        this.completedVisits = ConcurrentHashMap.newKeySet();
+        this.reviewedPairs = ConcurrentHashMap.newKeySet();
+        this.bands = new ArrayList<>();
+        for (int i = 0; i < BANDS; i++) {
+            this.bands.add(new ConcurrentHashMap<>());
+        }
+        this.trackedDoctors = ConcurrentHashMap.newKeySet();
+    }
+
+    // Getters
+    public boolean hasCompletedVisit(Patient patient, Doctor doctor) {
+        return completedVisits.contains(pair(patient, doctor));
+    }
+
+    // Methods
+    // Learns the doctor's completed appointments and reviews so far, and follows later ones.
+    public void track(Doctor doctor) {
+        if (!trackedDoctors.add(doctor)) {
+            return;
+        }
+        doctor.addScheduleListener(this);
+        for (Appointment appointment : doctor.getAppointments()) {
+            if ("Completed".equals(appointment.getStatus())) {
+                recordVisit(appointment.getPatient(), doctor);
+            }
+        }
+        for (Review review : doctor.getReviews()) {
+            remember(review, signature(review.getComment()));
+        }
+    }
+
+    public void recordVisit(Patient patient, Doctor doctor) {
+        completedVisits.add(pair(patient, doctor));
+    }
+
+    // Accepted reviews are remembered, so the same patient or text cannot pass again.
+    // Does not add the review to the doctor, that is up to the caller.
+    public ReviewVerdict validate(Review review) {
+        return check(review, signature(review.getComment()));
+    }
+
+    // For importing old reviews in bulk: signatures, the expensive part, are computed in
+    // parallel, the checks then run in list order so the earlier of two copies wins.
+    public List<ReviewVerdict> validateAll(List<Review> reviews) {
+        long[][] signatures = new long[reviews.size()][];
+        IntStream.range(0, reviews.size()).parallel()
+                .forEach(i -> signatures[i] = signature(reviews.get(i).getComment()));
+        List<ReviewVerdict> verdicts = new ArrayList<>(reviews.size());
+        for (int i = 0; i < reviews.size(); i++) {
+            verdicts.add(check(reviews.get(i), signatures[i]));
+        }
+        return verdicts;
+    }
+
+    @Override
+    public void scheduleChanged(Doctor doctor, StaticSchedule.Day day) {
+    }
+
+    @Override
+    public void appointmentStatusChanged(Appointment appointment, String oldStatus) {
+        if ("Completed".equals(appointment.getStatus())) {
+            recordVisit(appointment.getPatient(), appointment.getDoctor());
+        }
+    }
+
+    private ReviewVerdict check(Review review, long[] signature) {
+        String pair = pair(review.getReviewer(), review.getReviewedDoctor());
+        if (!completedVisits.contains(pair)) {
+            return new ReviewVerdict(review, ReviewVerdict.Status.NO_COMPLETED_VISIT);
+        }
+        if (reviewedPairs.contains(pair)) {
+            return new ReviewVerdict(review, ReviewVerdict.Status.ALREADY_REVIEWED);
+        }
+        if (signature != null) {
+            Signed match = null;
+            double best = 0.0;
+            Set<Signed> compared = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int band = 0; band < BANDS; band++) {
+                Queue<Signed> bucket = bands.get(band).get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Signed candidate : bucket) {
+                    if (!compared.add(candidate)) {
+                        continue; // shares more than one band with us
+                    }
+                    double similarity = similarity(signature, candidate.signature);
+                    if (similarity > best) {
+                        best = similarity;
+                        match = candidate;
+                    }
+                }
+            }
+            if (match != null && best >= threshold) {
+                return new ReviewVerdict(review, ReviewVerdict.Status.NEAR_DUPLICATE, match.review, best);
+            }
+        }
+        if (!reviewedPairs.add(pair)) {
+            return new ReviewVerdict(review, ReviewVerdict.Status.ALREADY_REVIEWED); // lost a race with another review
+        }
+        remember(review, signature);
+        return new ReviewVerdict(review, ReviewVerdict.Status.ACCEPTED);
+    }
+
+    private void remember(Review review, long[] signature) {
+        reviewedPairs.add(pair(review.getReviewer(), review.getReviewedDoctor()));
+        if (signature == null) {
+            return;
+        }
+        Signed signed = new Signed(review, signature);
+        for (int band = 0; band < BANDS; band++) {
+            bands.get(band).computeIfAbsent(bandKey(signature, band), k -> new ConcurrentLinkedQueue<>()).add(signed);
+        }
+    }
+
+    // null for comments too short to judge
+    private static long[] signature(String comment) {
+        if (comment == null) {
+            return null;
+        }
+        String text = comment.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        if (text.length() < MIN_LENGTH) {
+            return null;
+        }
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int start = 0; start + SHINGLE <= text.length(); start++) {
+            long shingle = 0xcbf29ce484222325L; // FNV-1a
+            for (int i = start; i < start + SHINGLE; i++) {
+                shingle = (shingle ^ text.charAt(i)) * 0x100000001b3L;
+            }
+            for (int i = 0; i < HASHES; i++) {
+                long hash = mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    // share of equal signature positions, estimates the Jaccard similarity of the shingle sets
+    private static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / HASHES;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String pair(Patient patient, Doctor doctor) {
+        return patient.getId() + "|" + doctor.getId();
+    }
+}
@@ -0,0 +1,62 @@
+package objects;
+
+// Outcome of checking a review before it is published.
+public class ReviewVerdict {
+    public enum Status {
+        ACCEPTED,
+        NO_COMPLETED_VISIT,
+        ALREADY_REVIEWED,
+        NEAR_DUPLICATE
+    }
+
+    private final Review review;
+    private final Status status;
+    private final Review duplicateOf; // only for NEAR_DUPLICATE
+    private final double similarity;
+
+    ReviewVerdict(Review review, Status status, Review duplicateOf, double similarity) {
+        this.review = review;
+        this.status = status;
+        this.duplicateOf = duplicateOf;
+        this.similarity = similarity;
+    }
+
+    ReviewVerdict(Review review, Status status) {
+        this(review, status, null, 0.0);
+    }
+
+    // Getters
+    public Review getReview() {
+        return review;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isAccepted() {
+        return status == Status.ACCEPTED;
+    }
+
+    public Review getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    // estimated share of common text with getDuplicateOf(), 0.0 - 1.0
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public String getMessage() {
+        switch (status) {
+            case ACCEPTED:
+                return "Review accepted.";
+            case NO_COMPLETED_VISIT:
+                return "Only patients with a completed appointment can review Dr. " + review.getReviewedDoctor().getFullName() + ".";
+            case ALREADY_REVIEWED:
+                return "You have already reviewed Dr. " + review.getReviewedDoctor().getFullName() + ".";
+            default:
+                return String.format("This comment is almost the same as an existing review (%.0f%% similar).", similarity * 100);
+        }
+    }
+}
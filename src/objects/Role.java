@@ -0,0 +1,53 @@
+package objects;
+
+import static objects.Permission.*;
+
+// The kind of user behind a session. Permission sets are built once here, a check against a
+// role never walks a list or looks at the user's class.
+public enum Role {
+    FOUNDER(mask(VIEW_PROFILE, MANAGE_DEPARTMENTS, MANAGE_STAFF, VIEW_REPORTS, MANAGE_ROOMS,
+            VIEW_BED_DASHBOARD, PLAN_OPERATING_ROOMS, IMPORT_DATA, EXPORT_DATA)),
+    DOCTOR(mask(VIEW_PROFILE, MANAGE_APPOINTMENTS, VIEW_PATIENTS, WRITE_PRESCRIPTION,
+            UPDATE_MEDICAL_RECORDS, MANAGE_ADMISSIONS, VIEW_BED_DASHBOARD, REQUEST_SURGERY)),
+    PRIVATE_DOCTOR(DOCTOR.permissions | mask(SET_CONSULTATION_FEE, VIEW_EARNINGS)),
+    PATIENT(mask(VIEW_PROFILE, BOOK_APPOINTMENT, VIEW_OWN_APPOINTMENTS, VIEW_OWN_MEDICAL_RECORDS,
+            VIEW_OWN_PRESCRIPTIONS, WRITE_REVIEW, VIEW_OWN_BILL)),
+    PHARMACIST(mask(VIEW_PROFILE, DISPENSE_PRESCRIPTIONS, MANAGE_INVENTORY)),
+    ASSISTANT(mask(VIEW_PROFILE, VIEW_BED_DASHBOARD));
+
+    private final long permissions;
+
+    Role(long permissions) {
+        this.permissions = permissions;
+    }
+
+    // Getters
+    public long getPermissions() {
+        return permissions;
+    }
+
+    // Methods
+    public boolean allows(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    // the only place that looks at the user's class, done once when a session is opened
+    public static Role of(Person user) {
+        if (user instanceof Founder) {
+            return FOUNDER;
+        }
+        if (user instanceof Doctor) {
+            return ((Doctor) user).isPrivateDoctor() ? PRIVATE_DOCTOR : DOCTOR;
+        }
+        if (user instanceof Patient) {
+            return PATIENT;
+        }
+        if (user instanceof Pharmacist) {
+            return PHARMACIST;
+        }
+        if (user instanceof Assistant) {
+            return ASSISTANT;
+        }
+        throw new IllegalArgumentException("No role for user " + user.getUsername());
+    }
+}
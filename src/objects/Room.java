@@ -1,13 +1,20 @@
 package objects;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class Room {
     private String roomName;
     private String roomType;
     private int capacity;
-    private boolean isAvailable;
-    private Patient currentPatient;
+    private final List<Admission> admissions; // patients in the room right now, at most capacity
     private double hourlyRate;
     private String equipment;
+    private final IntervalTree<RoomReservation> reservations; // future bookings, by time
 
     public Room(String roomName, String roomType, int capacity, double hourlyRate, String equipment) {
         if (roomName == null || roomType == null || capacity <= 0 || hourlyRate <= 0 || equipment == null) {
@@ -17,9 +24,10 @@ public class Room {
         this.roomName = roomName;
         this.roomType = roomType;
         this.capacity = capacity;
-        this.isAvailable = true;
+        this.admissions = new ArrayList<>();
         this.hourlyRate = hourlyRate;
         this.equipment = equipment;
+        this.reservations = new IntervalTree<>();
     }
 
     // Getters
@@ -31,46 +39,165 @@ public class Room {
         return roomType;
     }
 
-    public int getCapacity() {
+    public synchronized int getCapacity() {
         return capacity;
     }
 
-    public boolean isAvailable() {
-        return isAvailable;
+    public double getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public String getEquipment() {
+        return equipment;
+    }
+
+    // at least one free bed right now
+    public synchronized boolean isAvailable() {
+        return admissions.size() < capacity;
+    }
+
+    public synchronized int getOccupiedBeds() {
+        return admissions.size();
+    }
+
+    public synchronized List<Patient> getOccupants() {
+        List<Patient> patients = new ArrayList<>();
+        for (Admission admission : admissions) {
+            patients.add(admission.getPatient());
+        }
+        return patients;
+    }
+
+    public synchronized List<Admission> getAdmissions() {
+        return new ArrayList<>(admissions);
     }
 
     // Setters
-    public void setCapacity(int capacity) {
+    // the capacity and occupancy changes below are package-private, RoomScheduler keeps its
+    // counters in step with them; change capacity through RoomScheduler.setRoomCapacity
+    synchronized void setCapacity(int capacity) {
         if (capacity < 1) {
             throw new IllegalArgumentException("Capacity must be at least 1.");
         }
+        if (capacity < admissions.size()) {
+            throw new IllegalArgumentException("Capacity cannot be less than the number of patients in the room.");
+        }
         this.capacity = capacity;
     }
 
 
     // Methods
-    public void assignPatient(Patient patient) {
-        if (this.currentPatient == null) {
-            this.currentPatient = patient;
-            this.isAvailable = false;
+    // null when the patient is already here or every bed is taken
+    synchronized Admission admitPatient(Patient patient, LocalDateTime time) {
+        if (findAdmission(patient) != null) {
+            System.out.println("Patient " + patient.getFullName() + " is already in room " + roomName);
+            return null;
+        }
+        if (admissions.size() < capacity) {
+            Admission admission = new Admission(this, patient, time);
+            admissions.add(admission);
             System.out.println("Patient " + patient.getFullName() + " assigned to room " + roomName);
+            return admission;
         } else {
             System.out.println("Room " + roomName + " is already occupied");
+            return null;
+        }
+    }
+
+    // null when the patient is not in this room
+    synchronized Admission dischargePatient(Patient patient, LocalDateTime time) {
+        Admission admission = findAdmission(patient);
+        if (admission == null) {
+            return null;
+        }
+        admissions.remove(admission);
+        admission.markDischarged(time);
+        return admission;
+    }
+
+    private Admission findAdmission(Patient patient) {
+        for (Admission admission : admissions) { // at most capacity entries
+            if (admission.getPatient() == patient) {
+                return admission;
+            }
+        }
+        return null;
+    }
+
+    // Books a bed for [start, end). Returns null when every bed is taken at some point of the interval.
+    public synchronized RoomReservation reserve(Patient patient, LocalDateTime start, LocalDateTime end) {
+        RoomReservation reservation = new RoomReservation(this, patient, start, end);
+        if (peakBookedBeds(start, end) >= capacity) {
+            return null;
+        }
+        reservation.setEntry(reservations.insert(minutes(start), minutes(end), reservation));
+        return reservation;
+    }
+
+    public synchronized boolean cancelReservation(RoomReservation reservation) {
+        if (reservation.getRoom() != this || reservation.getEntry() == null) {
+            return false;
         }
+        boolean removed = reservations.remove(reservation.getEntry());
+        reservation.setEntry(null);
+        return removed;
+    }
+
+    // true when at least one bed stays free for the whole interval
+    public synchronized boolean isFreeBetween(LocalDateTime start, LocalDateTime end) {
+        return peakBookedBeds(start, end) < capacity;
+    }
+
+    public synchronized List<RoomReservation> getReservations(LocalDateTime start, LocalDateTime end) {
+        List<RoomReservation> result = new ArrayList<>();
+        for (IntervalTree.Entry<RoomReservation> entry : reservations.overlapping(minutes(start), minutes(end))) {
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    // Most beds booked at the same moment inside [start, end). Only the overlapping
+    // reservations are looked at, then a sweep over their start/end points.
+    private int peakBookedBeds(LocalDateTime start, LocalDateTime end) {
+        long from = minutes(start);
+        long to = minutes(end);
+        List<IntervalTree.Entry<RoomReservation>> overlapping = reservations.overlapping(from, to);
+        if (overlapping.isEmpty()) {
+            return 0;
+        }
+        long[] points = new long[overlapping.size() * 2];
+        int i = 0;
+        for (IntervalTree.Entry<RoomReservation> entry : overlapping) {
+            points[i++] = Math.max(entry.getStart(), from) * 2 + 1; // odd = a bed is taken
+            points[i++] = Math.min(entry.getEnd(), to) * 2;         // even = freed, sorts before a start at the same minute
+        }
+        Arrays.sort(points);
+        int booked = 0;
+        int peak = 0;
+        for (long point : points) {
+            booked += (point & 1) == 1 ? 1 : -1;
+            peak = Math.max(peak, booked);
+        }
+        return peak;
+    }
+
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
     }
 
     public String GeneralInfo() {
         String status;
-        if (currentPatient != null) {
-            status = "Occupied";
-        } else {
+        if (isAvailable()) {
             status = "Available";
+        } else {
+            status = "Occupied";
         }
 
         return "Room Name: " + roomName +
                 ", Type: " + roomType +
+                ", Beds: " + getOccupiedBeds() + "/" + getCapacity() +
                 ", Rate: $" + hourlyRate + "/hr" +
                 ", Equipment: " + equipment +
                 ", Status: " + status + "";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background job that charges room stays. Every tick walks only the occupied rooms (not all
+// rooms) and posts what each admission accrued since the last tick to the patient's bill.
+public class RoomBillingJob {
+    private final RoomScheduler roomScheduler;
+    private ScheduledExecutorService executor;
+
+    public RoomBillingJob(RoomScheduler roomScheduler) {
+        this.roomScheduler = roomScheduler;
+    }
+
+    // Methods
+    // one billing pass, returns the total charged
+    public double runTick(LocalDateTime now) {
+        double total = 0.0;
+        for (Room room : roomScheduler.getOccupiedRooms()) {
+            for (Admission admission : room.getAdmissions()) {
+                total += post(admission, now);
+            }
+        }
+        return total;
+    }
+
+    static double post(Admission admission, LocalDateTime until) {
+        double charge = admission.accrue(until);
+        if (charge > 0) {
+            admission.getPatient().chargeToBill(charge);
+        }
+        return charge;
+    }
+
+    public synchronized void start(long periodMinutes) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-billing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> runTick(LocalDateTime.now()), periodMinutes, periodMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
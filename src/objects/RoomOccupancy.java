@@ -0,0 +1,55 @@
+package objects;
+
+// Occupancy numbers of one room type at one moment. Immutable, RoomScheduler swaps in a new
+// one on every change so a reader always sees numbers that belong together.
+public class RoomOccupancy {
+    private final String roomType;
+    private final int rooms;
+    private final int beds;
+    private final int occupiedBeds;
+    private final int availableRooms; // rooms with at least one free bed
+
+    public RoomOccupancy(String roomType, int rooms, int beds, int occupiedBeds, int availableRooms) {
+        this.roomType = roomType;
+        this.rooms = rooms;
+        this.beds = beds;
+        this.occupiedBeds = occupiedBeds;
+        this.availableRooms = availableRooms;
+    }
+
+    // Getters
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public int getBeds() {
+        return beds;
+    }
+
+    public int getOccupiedBeds() {
+        return occupiedBeds;
+    }
+
+    public int getFreeBeds() {
+        return beds - occupiedBeds;
+    }
+
+    public int getAvailableRooms() {
+        return availableRooms;
+    }
+
+    RoomOccupancy plus(int rooms, int beds, int occupiedBeds, int availableRooms) {
+        return new RoomOccupancy(roomType, this.rooms + rooms, this.beds + beds,
+                this.occupiedBeds + occupiedBeds, this.availableRooms + availableRooms);
+    }
+
+    public String GeneralInfo() {
+        return "Type: " + roomType +
+                ", Rooms Available: " + availableRooms + "/" + rooms +
+                ", Free Beds: " + getFreeBeds() + "/" + beds;
+    }
+}
@@ -0,0 +1,57 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// A bed in a room booked for a time interval [start, end).
+public class RoomReservation {
+    private final Room room;
+    private final Patient patient;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private IntervalTree.Entry<RoomReservation> entry; // where the room keeps it
+
+    public RoomReservation(Room room, Patient patient, LocalDateTime start, LocalDateTime end) {
+        if (room == null || patient == null || start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("Room, patient, start and end cannot be null and end must be after start.");
+        } // reservation cannot be created without these.
+        this.room = room;
+        this.patient = patient;
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getters
+    public Room getRoom() {
+        return room;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    IntervalTree.Entry<RoomReservation> getEntry() {
+        return entry;
+    }
+
+    // Setters
+    void setEntry(IntervalTree.Entry<RoomReservation> entry) {
+        this.entry = entry;
+    }
+
+    public String GeneralInfo() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        return "Reservation Room: " + room.getRoomName() +
+                ", Patient: " + patient.getFullName() +
+                ", From: " + start.format(format) +
+                ", To: " + end.format(format);
+    }
+}
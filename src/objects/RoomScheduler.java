@@ -0,0 +1,176 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+// All rooms of the hospital, indexed by name and by room type. Types are kept sorted, so
+// "Operating Room" finds "Operating Room - 1", "Operating Room - 2"... with one range
+// lookup instead of walking every room.
+public class RoomScheduler {
+    private final List<Room> rooms; // in the order they were added
+    private final Map<String, Room> roomsByName;
+    private final ConcurrentNavigableMap<String, Set<Room>> roomsByType;
+    private final Set<Room> occupiedRooms; // rooms with at least one admitted patient
+    private final ConcurrentNavigableMap<String, AtomicReference<RoomOccupancy>> occupancyByType;
+
+    public RoomScheduler() {
+        this.rooms = new CopyOnWriteArrayList<>();
+        this.roomsByName = new ConcurrentHashMap<>();
+        this.roomsByType = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.occupiedRooms = ConcurrentHashMap.newKeySet();
+        this.occupancyByType = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    // Getters
+    public List<Room> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+
+    public Room getRoom(String roomName) {
+        return roomsByName.get(roomName);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    public Set<Room> getOccupiedRooms() {
+        return Collections.unmodifiableSet(occupiedRooms);
+    }
+
+    // Live occupancy per room type. Only reads one counter per type, the number of rooms
+    // does not matter, so a dashboard can poll this as often as it likes.
+    public List<RoomOccupancy> getOccupancySnapshot() {
+        List<RoomOccupancy> snapshot = new ArrayList<>();
+        for (AtomicReference<RoomOccupancy> counter : occupancyByType.values()) {
+            snapshot.add(counter.get());
+        }
+        return snapshot;
+    }
+
+    public RoomOccupancy getOccupancy(String roomType) {
+        AtomicReference<RoomOccupancy> counter = occupancyByType.get(roomType);
+        return counter == null ? null : counter.get();
+    }
+
+    public Collection<String> getRoomTypes() {
+        return Collections.unmodifiableSet(roomsByType.keySet());
+    }
+
+    // rooms whose type starts with the given text (case insensitive), e.g. "Operating Room"
+    public List<Room> getRoomsOfType(String typePrefix) {
+        List<Room> result = new ArrayList<>();
+        for (Set<Room> sameType : typeRange(typePrefix).values()) {
+            result.addAll(sameType);
+        }
+        return result;
+    }
+
+    // Methods
+    public boolean addRoom(Room room) {
+        if (roomsByName.putIfAbsent(room.getRoomName(), room) != null) {
+            return false; // room names are unique
+        }
+        roomsByType.computeIfAbsent(room.getRoomType(), type -> ConcurrentHashMap.newKeySet()).add(room);
+        synchronized (room) {
+            count(room, 1, room.getCapacity(), room.getOccupiedBeds(), room.isAvailable() ? 1 : 0);
+        }
+        rooms.add(room);
+        return true;
+    }
+
+    public void setRoomCapacity(Room room, int capacity) {
+        synchronized (room) {
+            int oldCapacity = room.getCapacity();
+            boolean wasAvailable = room.isAvailable();
+            room.setCapacity(capacity);
+            count(room, 0, capacity - oldCapacity, 0, availabilityChange(wasAvailable, room.isAvailable()));
+        }
+    }
+
+    private void count(Room room, int rooms, int beds, int occupiedBeds, int availableRooms) {
+        occupancyByType.computeIfAbsent(room.getRoomType(),
+                        type -> new AtomicReference<>(new RoomOccupancy(type, 0, 0, 0, 0)))
+                .updateAndGet(current -> current.plus(rooms, beds, occupiedBeds, availableRooms));
+    }
+
+    private static int availabilityChange(boolean before, boolean after) {
+        if (before == after) {
+            return 0;
+        }
+        return after ? 1 : -1;
+    }
+
+    // rooms of the type with at least one bed free for all of [start, end)
+    public List<Room> findFreeRooms(String typePrefix, LocalDateTime start, LocalDateTime end) {
+        List<Room> free = new ArrayList<>();
+        for (Set<Room> sameType : typeRange(typePrefix).values()) {
+            for (Room room : sameType) {
+                if (room.isFreeBetween(start, end)) {
+                    free.add(room);
+                }
+            }
+        }
+        free.sort((a, b) -> a.getRoomName().compareTo(b.getRoomName()));
+        return free;
+    }
+
+    // Admission and discharge go through here so the set of occupied rooms stays right;
+    // the room lock is held so an admit and a discharge of the same room cannot cross.
+    public Admission admit(Room room, Patient patient) {
+        synchronized (room) {
+            boolean wasAvailable = room.isAvailable();
+            Admission admission = room.admitPatient(patient, LocalDateTime.now());
+            if (admission != null) {
+                occupiedRooms.add(room);
+                count(room, 0, 0, 1, availabilityChange(wasAvailable, room.isAvailable()));
+            }
+            return admission;
+        }
+    }
+
+    // Discharges the patient and bills the rest of the stay right away. null when the
+    // patient is not in the room.
+    public Admission discharge(Room room, Patient patient) {
+        Admission admission;
+        synchronized (room) {
+            boolean wasAvailable = room.isAvailable();
+            admission = room.dischargePatient(patient, LocalDateTime.now());
+            if (admission == null) {
+                return null;
+            }
+            if (room.getOccupiedBeds() == 0) {
+                occupiedRooms.remove(room);
+            }
+            count(room, 0, 0, -1, availabilityChange(wasAvailable, room.isAvailable()));
+        }
+        RoomBillingJob.post(admission, admission.getDischargedAt());
+        return admission;
+    }
+
+    // null when the room does not exist or is fully booked in that interval
+    public RoomReservation reserve(String roomName, Patient patient, LocalDateTime start, LocalDateTime end) {
+        Room room = roomsByName.get(roomName);
+        if (room == null) {
+            return null;
+        }
+        return room.reserve(patient, start, end);
+    }
+
+    private ConcurrentNavigableMap<String, Set<Room>> typeRange(String typePrefix) {
+        if (typePrefix == null || typePrefix.isEmpty()) {
+            return roomsByType;
+        }
+        return roomsByType.subMap(typePrefix, true, typePrefix + Character.MAX_VALUE, true);
+    }
+}
@@ -0,0 +1,7 @@
+package objects;
+
+// Turns one import row into a domain object. Runs on the import workers, so it must not
+// touch shared state; bad rows are rejected with IllegalArgumentException.
+public interface RowMapper<T> {
+    T map(ImportRow row);
+}
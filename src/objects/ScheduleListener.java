@@ -0,0 +1,11 @@
+package objects;
+
+// Called when a doctor's booked slots on a day change: an appointment was booked or its
+// status changed. Runs on the thread that made the change, so keep it short.
+public interface ScheduleListener {
+    void scheduleChanged(Doctor doctor, StaticSchedule.Day day);
+
+    // the status of one of the doctor's appointments changed, most listeners only care about slots
+    default void appointmentStatusChanged(Appointment appointment, String oldStatus) {
+    }
+}
@@ -0,0 +1,64 @@
+package objects;
+
+// One signed in user. The token is random and says nothing about the user; the role's
+// permissions are copied in at login so checking one is a single bit test.
+public class Session {
+    private final String token;
+    private final Person user;
+    private final Role role;
+    private final long permissions;
+    private final long createdAt;
+    private final long absoluteExpiry; // millis, reached no matter how active the session is
+    private volatile long expiresAt; // millis, pushed forward on every use
+
+    Session(String token, Person user, long now, long idleMillis, long maxMillis) {
+        this.token = token;
+        this.user = user;
+        this.role = Role.of(user);
+        this.permissions = role.getPermissions();
+        this.createdAt = now;
+        this.absoluteExpiry = now + maxMillis;
+        this.expiresAt = Math.min(now + idleMillis, absoluteExpiry);
+    }
+
+    // Getters
+    public String getToken() {
+        return token;
+    }
+
+    public Person getUser() {
+        return user;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    // Methods
+    public boolean can(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    void touch(long now, long idleMillis) {
+        long next = Math.min(now + idleMillis, absoluteExpiry);
+        if (next > expiresAt) { // a racing touch may have gone further, both are fine
+            expiresAt = next;
+        }
+    }
+
+    void expire() {
+        expiresAt = 0L;
+    }
+}
@@ -0,0 +1,139 @@
+package objects;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Open sessions by token. Lookups are a hash probe and never lock, so many terminals can
+// share one manager. Sessions expire after being idle for a while and in any case after a
+// fixed lifetime; expired ones are dropped when they are looked up and by a background purge.
+public class SessionManager {
+    public static final long DEFAULT_IDLE_MINUTES = 30;
+    public static final long DEFAULT_MAX_HOURS = 12;
+    private static final int TOKEN_BYTES = 32;
+
+    private final Map<String, Session> sessions;
+    private final SecureRandom random;
+    private final long idleMillis;
+    private final long maxMillis;
+    private ScheduledExecutorService executor;
+
+    public SessionManager() {
+        this(TimeUnit.MINUTES.toMillis(DEFAULT_IDLE_MINUTES), TimeUnit.HOURS.toMillis(DEFAULT_MAX_HOURS));
+    }
+
+    public SessionManager(long idleMillis, long maxMillis) {
+        if (idleMillis <= 0 || maxMillis <= 0) {
+            throw new IllegalArgumentException("Session timeouts must be positive.");
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.random = new SecureRandom();
+        this.idleMillis = idleMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    // Getters
+    public int getOpenCount() {
+        return sessions.size();
+    }
+
+    // Methods
+    public Session open(Person user) {
+        if (user == null) {
+            throw new IllegalArgumentException("A session needs a user.");
+        }
+        long now = System.currentTimeMillis();
+        while (true) {
+            Session session = new Session(newToken(), user, now, idleMillis, maxMillis);
+            if (sessions.putIfAbsent(session.getToken(), session) == null) {
+                return session;
+            }
+        }
+    }
+
+    // the live session for a token, or null if it is unknown or has expired
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.touch(now, idleMillis);
+        return session;
+    }
+
+    public boolean close(String token) {
+        if (token == null) {
+            return false;
+        }
+        Session session = sessions.remove(token);
+        if (session == null) {
+            return false;
+        }
+        session.expire();
+        return true;
+    }
+
+    // ends every session of the user, e.g. after a password change or when they leave
+    public int closeAll(Person user) {
+        int closed = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            Session session = it.next();
+            if (session.getUser() == user) {
+                it.remove();
+                session.expire();
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    public synchronized void start(long periodMinutes) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::purgeExpired, periodMinutes, periodMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,137 @@
+package objects;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counts events per key over a sliding window without locks and without allocating per
+// event. Keys hash into a fixed table of slots; every slot is a ring of time buckets, and a
+// bucket is one long holding the bucket's epoch (upper bits) and its count (lower bits), so
+// a stale bucket is recycled by the same CAS that counts into it. Each key uses two slots and
+// reads the smaller of the two, like a count-min sketch: a collision can only make a key look
+// busier than it is, never quieter, and needs both slots to collide to matter.
+public class SlidingWindowCounter {
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int HASHES = 2;
+
+    private final AtomicLongArray cells;
+    private final int slotMask;
+    private final int buckets;
+    private final long bucketMillis;
+
+    // slots is rounded up to a power of two; the window is buckets * bucketMillis long
+    public SlidingWindowCounter(int slots, int buckets, long bucketMillis) {
+        if (slots <= 0 || buckets <= 0 || bucketMillis <= 0) {
+            throw new IllegalArgumentException("Slots, buckets and bucket length must be positive.");
+        }
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.cells = new AtomicLongArray(size * buckets);
+        this.slotMask = size - 1;
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+    }
+
+    // Getters
+    public long getWindowMillis() {
+        return buckets * bucketMillis;
+    }
+
+    // events for the key within the window ending at now
+    public int count(String key, long now) {
+        long epoch = now / bucketMillis;
+        int h = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < HASHES; i++) {
+            min = Math.min(min, slotCount(slot(h, i), epoch));
+        }
+        return min;
+    }
+
+    // Methods
+    // counts one event and returns the key's count including it
+    public int add(String key, long now) {
+        long epoch = now / bucketMillis;
+        int h = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < HASHES; i++) {
+            int slot = slot(h, i);
+            increment(slot * buckets + (int) (epoch % buckets), epoch);
+            min = Math.min(min, slotCount(slot, epoch));
+        }
+        return min;
+    }
+
+    // how long until the key's count drops below limit, 0 if it already is
+    public long retryAfterMillis(String key, int limit, long now) {
+        long epoch = now / bucketMillis;
+        int h = hash(key);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < HASHES; i++) {
+            best = Math.min(best, slotRetryAfter(slot(h, i), epoch, limit, now));
+        }
+        return best;
+    }
+
+    private void increment(int index, long epoch) {
+        while (true) {
+            long cell = cells.get(index);
+            long cellEpoch = cell >>> COUNT_BITS;
+            long next;
+            if (cellEpoch >= epoch) { // a newer epoch only shows up if this thread was slow, count it there
+                if ((cell & COUNT_MASK) == COUNT_MASK) {
+                    return; // saturated
+                }
+                next = cell + 1;
+            } else {
+                next = (epoch << COUNT_BITS) | 1L;
+            }
+            if (cells.compareAndSet(index, cell, next)) {
+                return;
+            }
+        }
+    }
+
+    private int slotCount(int slot, long epoch) {
+        long oldest = epoch - buckets + 1;
+        long total = 0;
+        int base = slot * buckets;
+        for (int b = 0; b < buckets; b++) {
+            long cell = cells.get(base + b);
+            if ((cell >>> COUNT_BITS) >= oldest) {
+                total += cell & COUNT_MASK;
+            }
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    private long slotRetryAfter(int slot, long epoch, int limit, long now) {
+        int remaining = slotCount(slot, epoch);
+        if (remaining < limit) {
+            return 0L;
+        }
+        int base = slot * buckets;
+        for (long e = epoch - buckets + 1; e <= epoch; e++) {
+            long cell = cells.get(base + (int) (e % buckets));
+            if ((cell >>> COUNT_BITS) == e) {
+                remaining -= (int) (cell & COUNT_MASK);
+            }
+            if (remaining < limit) {
+                return (e + buckets) * bucketMillis - now; // when bucket e leaves the window
+            }
+        }
+        return getWindowMillis(); // only reachable while buckets are being recycled under us
+    }
+
+    private int slot(int h, int i) {
+        int mixed = h * (0x9E3779B9 + 2 * i) ^ (h >>> (15 + i));
+        mixed ^= mixed >>> 16;
+        return mixed & slotMask;
+    }
+
+    private static int hash(String key) {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
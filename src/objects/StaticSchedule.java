@@ -2,6 +2,9 @@ package objects;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 public class StaticSchedule {
@@ -23,6 +26,7 @@ public class StaticSchedule {
         LocalTime.of(15, 30),
         LocalTime.of(16, 0) 
     };
+    public static final int SLOT_MINUTES = 30;
 
     // enum for days of the week
     public enum Day {
@@ -33,18 +37,59 @@ public class StaticSchedule {
         FRIDAY
     }
 
-    // Get available time slots for a given day
+    public static int getSlotCount() {
+        return TIME_SLOTS.length;
+    }
+
+    public static LocalTime getSlotTime(int index) {
+        return TIME_SLOTS[index];
+    }
+
+    // index of the slot starting at the given time, -1 if no slot starts then
+    public static int getSlotIndex(LocalTime time) {
+        for (int i = 0; i < TIME_SLOTS.length; i++) {
+            if (TIME_SLOTS[i].equals(time)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // The schedule is one repeating week, a weekday means its next occurrence (today included),
+    // which is the date appointments booked for it get.
+    public static LocalDate dateOf(Day day) {
+        LocalDate today = LocalDate.now();
+        int ahead = day.ordinal() + 1 - today.getDayOfWeek().getValue();
+        return today.plusDays(ahead < 0 ? ahead + 7 : ahead);
+    }
+
+    // null on weekends, there is no schedule then
+    public static Day dayOf(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            return null;
+        }
+        return Day.values()[dayOfWeek.getValue() - 1];
+    }
+
+    // Get available time slots for a given day, on its next date; slots of today that have
+    // already started are not available
     public List<LocalTime> getAvailableTimeSlots(Day day, List<Appointment> appointments) {
+        LocalDate date = dateOf(day);
+        LocalDateTime now = LocalDateTime.now();
         List<LocalTime> availableSlots = new ArrayList<>();
         for (LocalTime slot : TIME_SLOTS) {
-            availableSlots.add(slot);
+            if (date.atTime(slot).isAfter(now)) {
+                availableSlots.add(slot);
+            }
         }
         
-        // Remove slots that are already booked
+        // Remove slots that are already booked, a canceled appointment frees its slot
         for (Appointment appointment : appointments) {
-            int appointmentDay = appointment.getDateTime().toLocalDate().getDayOfWeek().getValue() - 1;
-            
-            if (appointmentDay == day.ordinal()) {
+            if ("Canceled".equals(appointment.getStatus())) {
+                continue;
+            }
+            if (appointment.getDateTime().toLocalDate().equals(date)) {
                 LocalTime appointmentTime = appointment.getDateTime().toLocalTime();
                 availableSlots.remove(appointmentTime);
             }
@@ -0,0 +1,81 @@
+package objects;
+
+import java.time.LocalDate;
+
+// One delivered batch of an inventory item. The remaining, reserved and discarded fields are
+// only changed by the owning Inventory while it holds its lot lock.
+public class StockLot implements Comparable<StockLot> {
+    private final String lotId;
+    private final Inventory item;
+    private final LocalDate expiryDate; // last day the lot can be used
+    private volatile int remaining; // on the shelf or reserved
+    private volatile int reserved; // part of remaining that a reservation holds
+    private volatile boolean discarded; // expired and thrown away, reserved units coming back go too
+
+    public StockLot(String lotId, Inventory item, LocalDate expiryDate, int quantity) {
+        if (lotId == null || item == null || expiryDate == null || quantity <= 0) {
+            throw new IllegalArgumentException("Lot ID, item and expiry date cannot be null and quantity must be positive.");
+        } // lot cannot be created without these.
+        this.lotId = lotId;
+        this.item = item;
+        this.expiryDate = expiryDate;
+        this.remaining = quantity;
+    }
+
+    // Getters
+    public String getLotId() {
+        return lotId;
+    }
+
+    public Inventory getItem() {
+        return item;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public int getReserved() {
+        return reserved;
+    }
+
+    public boolean isDiscarded() {
+        return discarded;
+    }
+
+    public boolean isExpired(LocalDate today) {
+        return expiryDate.isBefore(today);
+    }
+
+    // Setters
+    void setRemaining(int remaining) {
+        this.remaining = remaining;
+    }
+
+    void setReserved(int reserved) {
+        this.reserved = reserved;
+    }
+
+    void setDiscarded(boolean discarded) {
+        this.discarded = discarded;
+    }
+
+    // first expiring first, lot id breaks ties so the order is stable
+    @Override
+    public int compareTo(StockLot other) {
+        int byExpiry = expiryDate.compareTo(other.expiryDate);
+        return byExpiry != 0 ? byExpiry : lotId.compareTo(other.lotId);
+    }
+
+    public String GeneralInfo() {
+        return "Lot: " + lotId +
+                ", Item: " + item.getItemName() +
+                ", Expires: " + expiryDate +
+                ", Remaining: " + remaining +
+                ", Reserved: " + reserved;
+    }
+}
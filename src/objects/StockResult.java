@@ -0,0 +1,86 @@
+package objects;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of a stock operation. Inventory returns this instead of printing, so callers
+// (console, wards, other terminals) decide what to show.
+public class StockResult {
+    public enum Status {
+        SUCCESS,
+        INSUFFICIENT_STOCK,
+        INVALID_AMOUNT
+    }
+
+    private final Status status;
+    private final String itemId;
+    private final int requested;
+    private final int remaining;
+    private final List<LotAllocation> allocations;
+
+    private StockResult(Status status, String itemId, int requested, int remaining, List<LotAllocation> allocations) {
+        this.status = status;
+        this.itemId = itemId;
+        this.requested = requested;
+        this.remaining = remaining;
+        this.allocations = allocations;
+    }
+
+    private StockResult(Status status, String itemId, int requested, int remaining) {
+        this(status, itemId, requested, remaining, Collections.emptyList());
+    }
+
+    static StockResult success(String itemId, int requested, int remaining) {
+        return new StockResult(Status.SUCCESS, itemId, requested, remaining);
+    }
+
+    static StockResult success(String itemId, int requested, int remaining, List<LotAllocation> allocations) {
+        return new StockResult(Status.SUCCESS, itemId, requested, remaining, Collections.unmodifiableList(allocations));
+    }
+
+    static StockResult insufficient(String itemId, int requested, int remaining) {
+        return new StockResult(Status.INSUFFICIENT_STOCK, itemId, requested, remaining);
+    }
+
+    static StockResult invalid(String itemId, int requested, int remaining) {
+        return new StockResult(Status.INVALID_AMOUNT, itemId, requested, remaining);
+    }
+
+    // Getters
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    // quantity left on the shelf right after this operation
+    public int getRemaining() {
+        return remaining;
+    }
+
+    // lots the stock was taken from, first expiring first; empty when the item has no lots
+    public List<LotAllocation> getAllocations() {
+        return allocations;
+    }
+
+    public String getMessage() {
+        switch (status) {
+            case SUCCESS:
+                return "Done. New quantity of " + itemId + ": " + remaining;
+            case INSUFFICIENT_STOCK:
+                return "Insufficient stock available for " + itemId + " (requested " + requested + ", available " + remaining + ")";
+            default:
+                return "Invalid amount: " + requested;
+        }
+    }
+}
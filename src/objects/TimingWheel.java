@@ -0,0 +1,159 @@
+package objects;
+
+import java.util.List;
+
+// Hierarchical timing wheel. Level 0 has 64 slots of one tick each, every level above has 64
+// slots each covering a whole turn of the level below, five levels in all (2^30 ticks).
+// A timeout sits in the slot of the coarsest level it is still far away for and drops down a
+// level each time that slot comes round, so scheduling and cancelling are O(1) and a tick
+// only touches the timeouts that are due, however many are pending. Deadlines past the top
+// level wait in its furthest slot and are placed again when it comes round.
+// Not thread safe, owners synchronize around it.
+public class TimingWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+
+    public static final class Timeout<T> {
+        private final T value;
+        private long deadline; // in ticks
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1; // -1 once it has expired or been cancelled
+        private int slot;
+
+        private Timeout(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isPending() {
+            return level >= 0;
+        }
+    }
+
+    private final long tickMillis;
+    private final Object[][] heads; // first Timeout of every [level][slot] list
+    private long currentTick; // the next tick to expire
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.heads = new Object[LEVELS][SLOTS];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    // Methods
+    // a deadline already past expires on the next advance; others are rounded up to a whole
+    // tick, so nothing expires early
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        long tick = Math.floorDiv(deadlineMillis, tickMillis) + (Math.floorMod(deadlineMillis, tickMillis) == 0 ? 0 : 1);
+        Timeout<T> timeout = new Timeout<>(value, Math.max(tick, currentTick));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    // expires every tick up to and including the one nowMillis falls in, adding what expired
+    public void advance(long nowMillis, List<T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick <= target) {
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (BITS * level)) & SLOT_MASK));
+                }
+            }
+            int slot = (int) (currentTick & SLOT_MASK);
+            Timeout<T> timeout = head(0, slot);
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.level = -1;
+                timeout.prev = null;
+                timeout.next = null;
+                size--;
+                expired.add(timeout.value);
+                timeout = next;
+            }
+            heads[0][slot] = null;
+            currentTick++;
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout<T> timeout = head(level, slot);
+        heads[level][slot] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && (delta >>> (BITS * (level + 1))) != 0) {
+            level++;
+        }
+        long tick = timeout.deadline;
+        if ((delta >>> (BITS * LEVELS)) != 0) {
+            tick = currentTick + (1L << (BITS * LEVELS)) - 1; // too far for the wheel, comes back round
+        }
+        int slot = (int) ((tick >>> (BITS * level)) & SLOT_MASK);
+        timeout.level = level;
+        timeout.slot = slot;
+        Timeout<T> first = head(level, slot);
+        timeout.next = first;
+        if (first != null) {
+            first.prev = timeout;
+        }
+        heads[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Timeout<T> head(int level, int slot) {
+        return (Timeout<T>) heads[level][slot];
+    }
+}
@@ -0,0 +1,88 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+// One doctor's waitlist, first come first served. Entries stay in the queue until they are
+// filled or withdrawn, so one that is passed over (it wants another day) or released after a
+// lost race keeps its place.
+public class Waitlist {
+    private final Doctor doctor;
+    private final ConcurrentLinkedQueue<WaitlistEntry> entries;
+
+    Waitlist(Doctor doctor) {
+        this.doctor = doctor;
+        this.entries = new ConcurrentLinkedQueue<>();
+    }
+
+    // Getters
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    // waiting entries, longest waiting first
+    public List<WaitlistEntry> getWaiting() {
+        List<WaitlistEntry> waiting = new ArrayList<>();
+        for (WaitlistEntry entry : entries) {
+            if (entry.isWaiting()) {
+                waiting.add(entry);
+            }
+        }
+        return waiting;
+    }
+
+    // 1 for the next in line, -1 when the entry is not waiting (or being booked) here
+    public int getPosition(WaitlistEntry entry) {
+        int position = 0;
+        for (WaitlistEntry other : entries) {
+            if (other.isWaiting() || other.isClaimed()) {
+                position++;
+                if (other == entry) {
+                    return position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // the patient's entry while it is waiting or being booked into a slot
+    public WaitlistEntry find(Patient patient) {
+        for (WaitlistEntry entry : entries) {
+            if (entry.getPatient() == patient && (entry.isWaiting() || entry.isClaimed())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // Methods
+    public synchronized WaitlistEntry join(Patient patient, StaticSchedule.Day day) {
+        Objects.requireNonNull(patient, "Patient cannot be null.");
+        if (find(patient) != null) {
+            throw new IllegalArgumentException(patient.getFullName() + " is already on the waitlist of Dr. " + doctor.getFullName() + ".");
+        }
+        WaitlistEntry entry = new WaitlistEntry(patient, doctor, day);
+        entries.add(entry);
+        return entry;
+    }
+
+    // Claims the longest waiting entry that wants the day and passes the check. Entries that
+    // are filled or withdrawn are dropped on the way.
+    WaitlistEntry claimNext(StaticSchedule.Day day, Predicate<WaitlistEntry> eligible) {
+        for (WaitlistEntry entry : entries) {
+            if (!entry.isWaiting() && !entry.isClaimed()) {
+                entries.remove(entry);
+            } else if (entry.wants(day) && eligible.test(entry) && entry.claim()) {
+                return entry;
+            } // claimed by another freed slot right now, or not interested
+        }
+        return null;
+    }
+
+    void remove(WaitlistEntry entry) {
+        entries.remove(entry);
+    }
+}
@@ -0,0 +1,88 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A patient waiting for a slot with a doctor, on one weekday or (day null) any day. The state
+// only moves by compare-and-set, so when several slots free up at once every entry is
+// claimed by exactly one of them, and a patient leaving can't race a booking.
+public class WaitlistEntry {
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1; // a freed slot is being booked for it
+    private static final int FILLED = 2;
+    private static final int WITHDRAWN = 3;
+
+    private final Patient patient;
+    private final Doctor doctor;
+    private final StaticSchedule.Day day;
+    private final LocalDateTime joinedAt;
+    private final AtomicInteger state;
+    private volatile Appointment appointment;
+
+    WaitlistEntry(Patient patient, Doctor doctor, StaticSchedule.Day day) {
+        this.patient = patient;
+        this.doctor = doctor;
+        this.day = day;
+        this.joinedAt = LocalDateTime.now();
+        this.state = new AtomicInteger(WAITING);
+    }
+
+    // Getters
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    // null means any day
+    public StaticSchedule.Day getDay() {
+        return day;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public boolean isWaiting() {
+        return state.get() == WAITING;
+    }
+
+    boolean isClaimed() {
+        return state.get() == CLAIMED;
+    }
+
+    public boolean isFilled() {
+        return state.get() == FILLED;
+    }
+
+    // the appointment it was given, null until then
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public boolean wants(StaticSchedule.Day day) {
+        return this.day == null || this.day == day;
+    }
+
+    // Methods
+    // false when it was already filled, or is being filled right now
+    public boolean withdraw() {
+        return state.compareAndSet(WAITING, WITHDRAWN);
+    }
+
+    boolean claim() {
+        return state.compareAndSet(WAITING, CLAIMED);
+    }
+
+    // the claimed slot went to someone else, back to waiting in the same place
+    void release() {
+        state.compareAndSet(CLAIMED, WAITING);
+    }
+
+    void fill(Appointment appointment) {
+        this.appointment = appointment;
+        state.set(FILLED);
+    }
+}
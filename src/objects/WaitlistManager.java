@@ -0,0 +1,109 @@
+package objects;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-doctor waitlists, refilled the moment an appointment is cancelled: it listens for
+// cancellations on the publishing thread, claims the longest waiting patient who wants that
+// day and books them into the freed slot. Booking holds the doctor's lock, like every other
+// booking, and re-checks that the slot is still free first.
+public class WaitlistManager implements EventSubscriber {
+    private final Map<Doctor, Waitlist> waitlists;
+
+    public WaitlistManager() {
+        this.waitlists = new ConcurrentHashMap<>();
+    }
+
+    // Getters
+    public Waitlist getWaitlist(Doctor doctor) {
+        return waitlists.computeIfAbsent(doctor, Waitlist::new);
+    }
+
+    // every waitlist the patient is waiting on
+    public List<WaitlistEntry> getEntries(Patient patient) {
+        List<WaitlistEntry> result = new ArrayList<>();
+        for (Waitlist waitlist : waitlists.values()) {
+            WaitlistEntry entry = waitlist.find(patient);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    // Methods
+    public void attach(EventBus bus) {
+        bus.subscribe(this, EventType.APPOINTMENT_CANCELLED);
+    }
+
+    // day null means any day
+    public WaitlistEntry join(Patient patient, Doctor doctor, StaticSchedule.Day day) {
+        if (doctor.getStaticSchedule() == null) {
+            throw new IllegalArgumentException("Dr. " + doctor.getFullName() + " takes no appointments.");
+        }
+        return getWaitlist(doctor).join(patient, day);
+    }
+
+    // false when the patient is not waiting for the doctor, or is being booked into a slot right now
+    public boolean leave(Patient patient, Doctor doctor) {
+        Waitlist waitlist = waitlists.get(doctor);
+        WaitlistEntry entry = waitlist == null ? null : waitlist.find(patient);
+        if (entry == null || !entry.withdraw()) {
+            return false;
+        }
+        waitlist.remove(entry);
+        return true;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        backfill(event.getPayload(Appointment.class));
+    }
+
+    // Gives the slot of a cancelled appointment to the next patient in line. Returns the new
+    // appointment, or null when nobody wanted it or it was booked again already.
+    public Appointment backfill(Appointment cancelled) {
+        Doctor doctor = cancelled.getDoctor();
+        Waitlist waitlist = waitlists.get(doctor);
+        if (waitlist == null || doctor.getStaticSchedule() == null) {
+            return null;
+        }
+        LocalDateTime slot = cancelled.getDateTime();
+        StaticSchedule.Day day = StaticSchedule.dayOf(slot.toLocalDate());
+        if (day == null || !slot.toLocalDate().equals(StaticSchedule.dateOf(day))
+                || StaticSchedule.getSlotIndex(slot.toLocalTime()) < 0) {
+            return null; // not a slot of the coming week (already past, or an import further ahead)
+        }
+        WaitlistEntry entry = waitlist.claimNext(day, candidate -> !isBusy(candidate.getPatient(), slot));
+        if (entry == null) {
+            return null;
+        }
+        synchronized (doctor) {
+            if (!doctor.getStaticSchedule().getAvailableTimeSlots(day, doctor.getAppointments()).contains(slot.toLocalTime())) {
+                entry.release(); // someone booked it between the cancellation and now
+                return null;
+            }
+            Appointment appointment = doctor.scheduleAppointment(entry.getPatient(), day, slot.toLocalTime());
+            if (appointment == null) {
+                entry.release(); // overlaps an imported appointment at an odd time
+                return null;
+            }
+            entry.fill(appointment);
+            waitlist.remove(entry);
+            cancelled.setReplacement(appointment);
+            return appointment;
+        }
+    }
+
+    private static boolean isBusy(Patient patient, LocalDateTime slot) {
+        for (Appointment appointment : patient.getAppointments()) {
+            if (appointment.getDateTime().equals(slot) && "Scheduled".equals(appointment.getStatus())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}